@@ -0,0 +1,48 @@
+package dsaprojects;
+
+import java.util.Arrays;
+
+public final class ArrivalProfile {
+    private final int[] departures;
+    private final int[] arrivals;
+
+    ArrivalProfile(int[] departures, int[] arrivals) {
+        this.departures = departures;
+        this.arrivals = arrivals;
+    }
+
+    public int breakpointCount() {
+        return departures.length;
+    }
+
+    public int departure(int index) {
+        return departures[index];
+    }
+
+    public int arrival(int index) {
+        return arrivals[index];
+    }
+
+    // Integer.MAX_VALUE where the destination is unreachable at either neighbouring breakpoint.
+    public int arrivalAt(int departure) {
+        int last = departures.length - 1;
+        if (departure < departures[0] || departure > departures[last]) {
+            throw new IllegalArgumentException("Departure " + departure + " is outside the profile window ["
+                    + departures[0] + ", " + departures[last] + "]");
+        }
+        int index = Arrays.binarySearch(departures, departure);
+        if (index >= 0) {
+            return arrivals[index];
+        }
+        int right = -index - 1;
+        if (arrivals[right - 1] == Integer.MAX_VALUE || arrivals[right] == Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        return TimeDependentGraph.interpolate(departures, arrivals, right - 1, right + 1, departure);
+    }
+
+    public int travelTimeAt(int departure) {
+        int arrival = arrivalAt(departure);
+        return arrival == Integer.MAX_VALUE ? arrival : arrival - departure;
+    }
+}
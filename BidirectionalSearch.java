@@ -0,0 +1,94 @@
+package dsaprojects;
+
+final class BidirectionalSearch {
+    private final CsrGraph graph;
+    private final CsrGraph reverse;
+    private final QueryWorkspace forward;
+    private final QueryWorkspace backward;
+    private final SearchStats stats;
+    private int best = Integer.MAX_VALUE;
+    private int meeting = -1;
+
+    BidirectionalSearch(CsrGraph graph, QueryWorkspace forward, QueryWorkspace backward) {
+        this.graph = graph;
+        this.reverse = graph.reverse();
+        this.forward = forward;
+        this.backward = backward;
+        this.stats = forward.stats();
+    }
+
+    int search(int source, int destination, VertexQueue forwardQueue, VertexQueue backwardQueue) {
+        forward.reset(graph.vertexCount());
+        backward.reset(graph.vertexCount());
+        forward.update(source, 0, -1);
+        backward.update(destination, 0, -1);
+        if (source == destination) {
+            best = 0;
+            return meeting = source;
+        }
+        forwardQueue.push(source, 0);
+        backwardQueue.push(destination, 0);
+        if (SearchStats.ENABLED) {
+            stats.pushes += 2;
+        }
+
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            int forwardKey = forwardQueue.minKey();
+            int backwardKey = backwardQueue.minKey();
+            if ((long) forwardKey + backwardKey >= best) {
+                break;
+            }
+            if (forwardKey <= backwardKey) {
+                step(graph, forwardQueue, forward, backward);
+            } else {
+                step(reverse, backwardQueue, backward, forward);
+            }
+        }
+        return meeting;
+    }
+
+    int distance() {
+        return best;
+    }
+
+    private void step(CsrGraph graph, VertexQueue queue, QueryWorkspace own, QueryWorkspace other) {
+        int key = queue.minKey();
+        int vertex = queue.poll();
+        int vertexDistance = own.distance(vertex);
+        if (SearchStats.ENABLED) {
+            stats.pops++;
+        }
+        if (key > vertexDistance) {
+            if (SearchStats.ENABLED) {
+                stats.stalePops++;
+            }
+            return;
+        }
+
+        int edge = graph.firstEdge(vertex);
+        int end = graph.endEdge(vertex);
+        if (SearchStats.ENABLED) {
+            stats.settled++;
+            stats.relaxed += end - edge;
+        }
+        for (; edge < end; edge++) {
+            int target = graph.target(edge);
+            int newDistance = vertexDistance + graph.weight(edge);
+
+            if (newDistance < own.distance(target)) {
+                own.update(target, newDistance, vertex);
+                queue.push(target, newDistance);
+                if (SearchStats.ENABLED) {
+                    stats.pushes++;
+                }
+                if (other.isReached(target)) {
+                    long total = (long) newDistance + other.distance(target);
+                    if (total < best) {
+                        best = (int) total;
+                        meeting = target;
+                    }
+                }
+            }
+        }
+    }
+}
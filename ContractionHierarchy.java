@@ -0,0 +1,297 @@
+package dsaprojects;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class ContractionHierarchy {
+    private static final int MAGIC = 0x43483032;
+
+    private final int edgeCount;
+    private final long fingerprint;
+    private final int[] ranks;
+    private final Arcs upward;
+    private final Arcs downward;
+
+    // edgeCount and fingerprint describe the graph the hierarchy was contracted from.
+    ContractionHierarchy(int edgeCount, long fingerprint, int[] ranks, Arcs upward, Arcs downward) {
+        this.edgeCount = edgeCount;
+        this.fingerprint = fingerprint;
+        this.ranks = ranks;
+        this.upward = upward;
+        this.downward = downward;
+    }
+
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return new ContractionHierarchyBuilder(graph).build();
+    }
+
+    public int vertexCount() {
+        return ranks.length;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public int rank(int vertex) {
+        return ranks[vertex];
+    }
+
+    public int shortcutCount() {
+        return upward.shortcutCount() + downward.shortcutCount();
+    }
+
+    public int distance(int source, int destination, QueryWorkspace workspace) {
+        QueryWorkspace backward = workspace.backward();
+        int meeting = search(source, destination, workspace, backward);
+        return meeting == -1 ? Integer.MAX_VALUE : workspace.distance(meeting) + backward.distance(meeting);
+    }
+
+    public List<Integer> findShortestPath(int source, int destination, QueryWorkspace workspace) {
+        int meeting = search(source, destination, workspace, workspace.backward());
+        List<Integer> path = new ArrayList<>();
+        if (meeting != -1) {
+            appendPath(path, meeting, workspace);
+        }
+        return path;
+    }
+
+    void appendPath(List<Integer> path, int meeting, QueryWorkspace workspace) {
+        QueryWorkspace backward = workspace.backward();
+        List<Integer> up = new ArrayList<>();
+        for (int vertex = meeting; vertex != -1; vertex = workspace.previous(vertex)) {
+            up.add(vertex);
+        }
+        Collections.reverse(up);
+        path.add(up.get(0));
+        for (int i = 0; i + 1 < up.size(); i++) {
+            unpack(up.get(i), up.get(i + 1), path);
+        }
+        for (int vertex = meeting, next = backward.previous(meeting); next != -1; vertex = next, next = backward.previous(next)) {
+            unpack(vertex, next, path);
+        }
+    }
+
+    int search(int source, int destination, QueryWorkspace forward, QueryWorkspace backward) {
+        int vertexCount = ranks.length;
+        VertexQueue forwardQueue = forward.queue(QueueType.FOUR_ARY_HEAP, vertexCount);
+        VertexQueue backwardQueue = backward.queue(QueueType.FOUR_ARY_HEAP, vertexCount);
+        forward.reset(vertexCount);
+        backward.reset(vertexCount);
+        forward.update(source, 0, -1);
+        backward.update(destination, 0, -1);
+        forwardQueue.push(source, 0);
+        backwardQueue.push(destination, 0);
+        SearchStats stats = forward.stats();
+        if (SearchStats.ENABLED) {
+            stats.pushes += 2;
+        }
+
+        int best = Integer.MAX_VALUE;
+        int meeting = -1;
+        while (true) {
+            boolean forwardDone = forwardQueue.isEmpty() || forwardQueue.minKey() >= best;
+            boolean backwardDone = backwardQueue.isEmpty() || backwardQueue.minKey() >= best;
+            if (forwardDone && backwardDone) {
+                break;
+            }
+            boolean forwardStep = !forwardDone && (backwardDone || forwardQueue.minKey() <= backwardQueue.minKey());
+            Arcs arcs = forwardStep ? upward : downward;
+            Arcs stallArcs = forwardStep ? downward : upward;
+            VertexQueue queue = forwardStep ? forwardQueue : backwardQueue;
+            QueryWorkspace own = forwardStep ? forward : backward;
+            QueryWorkspace other = forwardStep ? backward : forward;
+
+            int vertex = queue.poll();
+            int vertexDistance = own.distance(vertex);
+            if (SearchStats.ENABLED) {
+                stats.pops++;
+            }
+            if (other.isReached(vertex)) {
+                long total = (long) vertexDistance + other.distance(vertex);
+                if (total < best) {
+                    best = (int) total;
+                    meeting = vertex;
+                }
+            }
+            if (isStalled(stallArcs, vertex, vertexDistance, own)) {
+                if (SearchStats.ENABLED) {
+                    stats.stalePops++;
+                }
+                continue;
+            }
+            int arc = arcs.offsets[vertex];
+            int end = arcs.offsets[vertex + 1];
+            if (SearchStats.ENABLED) {
+                stats.settled++;
+                stats.relaxed += end - arc;
+            }
+            for (; arc < end; arc++) {
+                int target = arcs.targets[arc];
+                int newDistance = vertexDistance + arcs.weights[arc];
+                if (newDistance < own.distance(target)) {
+                    own.update(target, newDistance, vertex);
+                    queue.push(target, newDistance);
+                    if (SearchStats.ENABLED) {
+                        stats.pushes++;
+                    }
+                }
+            }
+        }
+        return meeting;
+    }
+
+    // Stall-on-demand: a higher vertex already reaches this one more cheaply, so the
+    // label is not on any shortest up-down path and expanding it only widens the search.
+    private static boolean isStalled(Arcs arcs, int vertex, int vertexDistance, QueryWorkspace own) {
+        for (int arc = arcs.offsets[vertex], end = arcs.offsets[vertex + 1]; arc < end; arc++) {
+            int higher = arcs.targets[arc];
+            if (own.isReached(higher) && (long) own.distance(higher) + arcs.weights[arc] < vertexDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unpack(int from, int to, List<Integer> path) {
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = from;
+        stack[size++] = to;
+        while (size > 0) {
+            int v = stack[--size];
+            int u = stack[--size];
+            int middle = ranks[u] < ranks[v] ? upward.middle(u, v) : downward.middle(v, u);
+            if (middle == -1) {
+                path.add(v);
+            } else {
+                if (size + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[size++] = middle;
+                stack[size++] = v;
+                stack[size++] = u;
+                stack[size++] = middle;
+            }
+        }
+    }
+
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(edgeCount);
+            out.writeLong(fingerprint);
+            BinaryFiles.writeArray(out, ranks);
+            upward.write(out);
+            downward.write(out);
+        }
+    }
+
+    public static ContractionHierarchy read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a contraction hierarchy file: " + file);
+            }
+            int edgeCount = in.readInt();
+            long fingerprint = in.readLong();
+            int[] ranks = BinaryFiles.readArray(in);
+            Arcs upward = Arcs.read(in);
+            Arcs downward = Arcs.read(in);
+            int vertexCount = ranks.length;
+            boolean[] seen = new boolean[vertexCount];
+            for (int rank : ranks) {
+                if (rank < 0 || rank >= vertexCount || seen[rank]) {
+                    throw new IOException("Corrupt contraction hierarchy file: " + file);
+                }
+                seen[rank] = true;
+            }
+            if (edgeCount < 0 || !upward.isValid(vertexCount) || !downward.isValid(vertexCount)) {
+                throw new IOException("Corrupt contraction hierarchy file: " + file);
+            }
+            return new ContractionHierarchy(edgeCount, fingerprint, ranks, upward, downward);
+        }
+    }
+
+    static final class Arcs {
+        final int[] offsets;
+        final int[] targets;
+        final int[] weights;
+        final int[] middles;
+
+        Arcs(int[] offsets, int[] targets, int[] weights, int[] middles) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.middles = middles;
+        }
+
+        int middle(int vertex, int target) {
+            int best = -1;
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                if (targets[arc] == target && (best == -1 || weights[arc] < weights[best])) {
+                    best = arc;
+                }
+            }
+            if (best == -1) {
+                throw new IllegalStateException("Missing hierarchy arc " + vertex + " -> " + target);
+            }
+            return middles[best];
+        }
+
+        int shortcutCount() {
+            int count = 0;
+            for (int middle : middles) {
+                if (middle != -1) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // True if the arrays form a CSR over vertexCount vertices whose arcs and middle vertices
+        // all name existing vertices.
+        boolean isValid(int vertexCount) {
+            int arcCount = targets.length;
+            if (offsets.length != vertexCount + 1 || offsets[0] != 0 || offsets[vertexCount] != arcCount
+                    || weights.length != arcCount || middles.length != arcCount) {
+                return false;
+            }
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                if (offsets[vertex] > offsets[vertex + 1]) {
+                    return false;
+                }
+            }
+            for (int arc = 0; arc < arcCount; arc++) {
+                if (targets[arc] < 0 || targets[arc] >= vertexCount || weights[arc] < 0
+                        || middles[arc] < -1 || middles[arc] >= vertexCount) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            BinaryFiles.writeArray(out, offsets);
+            BinaryFiles.writeArray(out, targets);
+            BinaryFiles.writeArray(out, weights);
+            BinaryFiles.writeArray(out, middles);
+        }
+
+        static Arcs read(DataInputStream in) throws IOException {
+            return new Arcs(BinaryFiles.readArray(in), BinaryFiles.readArray(in), BinaryFiles.readArray(in), BinaryFiles.readArray(in));
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package dsaprojects;
+
+import java.util.Arrays;
+
+final class ContractionHierarchyBuilder {
+    private static final int WITNESS_SETTLE_LIMIT = 100;
+
+    private final int vertexCount;
+    private final int edgeCount;
+    private final long fingerprint;
+    private final ArcList[] outgoing;
+    private final ArcList[] incoming;
+    private final int[] contractedNeighbours;
+    private final QueryWorkspace witness = new QueryWorkspace();
+    private final IndexedDaryHeap witnessQueue = new IndexedDaryHeap(4);
+    private final ArcBuffer upward = new ArcBuffer();
+    private final ArcBuffer downward = new ArcBuffer();
+
+    ContractionHierarchyBuilder(CsrGraph graph) {
+        vertexCount = graph.vertexCount();
+        edgeCount = graph.edgeCount();
+        fingerprint = graph.fingerprint();
+        outgoing = new ArcList[vertexCount];
+        incoming = new ArcList[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            outgoing[vertex] = new ArcList();
+            incoming[vertex] = new ArcList();
+        }
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            for (int edge = graph.firstEdge(vertex); edge < graph.endEdge(vertex); edge++) {
+                int target = graph.target(edge);
+                if (target != vertex) {
+                    outgoing[vertex].relax(target, graph.weight(edge), -1);
+                    incoming[target].relax(vertex, graph.weight(edge), -1);
+                }
+            }
+        }
+        contractedNeighbours = new int[vertexCount];
+        witnessQueue.ensureCapacity(vertexCount);
+    }
+
+    ContractionHierarchy build() {
+        IndexedDaryHeap order = new IndexedDaryHeap(4);
+        order.ensureCapacity(vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            order.push(vertex, priority(vertex));
+        }
+
+        int[] ranks = new int[vertexCount];
+        int rank = 0;
+        while (!order.isEmpty()) {
+            int vertex = order.poll();
+            int current = priority(vertex);
+            if (!order.isEmpty() && current > order.minKey()) {
+                order.push(vertex, current);
+                continue;
+            }
+
+            contract(vertex, false);
+            ranks[vertex] = rank++;
+
+            ArcList out = outgoing[vertex];
+            for (int i = 0; i < out.size; i++) {
+                int neighbour = out.targets[i];
+                upward.add(vertex, neighbour, out.weights[i], out.middles[i]);
+                incoming[neighbour].remove(vertex);
+                contractedNeighbours[neighbour]++;
+            }
+            ArcList in = incoming[vertex];
+            for (int i = 0; i < in.size; i++) {
+                int neighbour = in.targets[i];
+                downward.add(vertex, neighbour, in.weights[i], in.middles[i]);
+                outgoing[neighbour].remove(vertex);
+                contractedNeighbours[neighbour]++;
+            }
+            for (int i = 0; i < out.size; i++) {
+                order.push(out.targets[i], priority(out.targets[i]));
+            }
+            for (int i = 0; i < in.size; i++) {
+                order.push(in.targets[i], priority(in.targets[i]));
+            }
+            outgoing[vertex] = null;
+            incoming[vertex] = null;
+        }
+        return new ContractionHierarchy(edgeCount, fingerprint, ranks, upward.toArcs(vertexCount),
+                downward.toArcs(vertexCount));
+    }
+
+    private int priority(int vertex) {
+        int shortcuts = contract(vertex, true);
+        return 2 * shortcuts - outgoing[vertex].size - incoming[vertex].size + contractedNeighbours[vertex];
+    }
+
+    private int contract(int vertex, boolean simulate) {
+        ArcList in = incoming[vertex];
+        ArcList out = outgoing[vertex];
+        if (in.size == 0 || out.size == 0) {
+            return 0;
+        }
+        int maxOut = 0;
+        for (int i = 0; i < out.size; i++) {
+            maxOut = Math.max(maxOut, out.weights[i]);
+        }
+
+        int shortcuts = 0;
+        for (int i = 0; i < in.size; i++) {
+            int source = in.targets[i];
+            int toVertex = in.weights[i];
+            witnessSearch(source, vertex, toVertex + maxOut);
+            for (int j = 0; j < out.size; j++) {
+                int target = out.targets[j];
+                if (target == source) {
+                    continue;
+                }
+                int viaVertex = toVertex + out.weights[j];
+                if (witness.distance(target) > viaVertex) {
+                    shortcuts++;
+                    if (!simulate) {
+                        outgoing[source].relax(target, viaVertex, vertex);
+                        incoming[target].relax(source, viaVertex, vertex);
+                    }
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    private void witnessSearch(int source, int excluded, int limit) {
+        witness.reset(vertexCount);
+        witnessQueue.clear();
+        witness.update(source, 0, -1);
+        witnessQueue.push(source, 0);
+        int settled = 0;
+        while (!witnessQueue.isEmpty() && witnessQueue.minKey() <= limit && settled++ < WITNESS_SETTLE_LIMIT) {
+            int vertex = witnessQueue.poll();
+            int vertexDistance = witness.distance(vertex);
+            ArcList out = outgoing[vertex];
+            for (int i = 0; i < out.size; i++) {
+                int target = out.targets[i];
+                if (target == excluded) {
+                    continue;
+                }
+                int newDistance = vertexDistance + out.weights[i];
+                if (newDistance < witness.distance(target)) {
+                    witness.update(target, newDistance, vertex);
+                    witnessQueue.push(target, newDistance);
+                }
+            }
+        }
+    }
+
+    private static final class ArcList {
+        private int[] targets = new int[4];
+        private int[] weights = new int[4];
+        private int[] middles = new int[4];
+        private int size;
+
+        void relax(int target, int weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            targets[size] = target;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        void remove(int target) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    size--;
+                    targets[i] = targets[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class ArcBuffer {
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private int[] weights = new int[16];
+        private int[] middles = new int[16];
+        private int size;
+
+        void add(int source, int target, int weight, int middle) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        ContractionHierarchy.Arcs toArcs(int vertexCount) {
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                offsets[vertex + 1] += offsets[vertex];
+            }
+            int[] cursor = Arrays.copyOf(offsets, vertexCount);
+            int[] sortedTargets = new int[size];
+            int[] sortedWeights = new int[size];
+            int[] sortedMiddles = new int[size];
+            for (int i = 0; i < size; i++) {
+                int slot = cursor[sources[i]]++;
+                sortedTargets[slot] = targets[i];
+                sortedWeights[slot] = weights[i];
+                sortedMiddles[slot] = middles[i];
+            }
+            return new ContractionHierarchy.Arcs(offsets, sortedTargets, sortedWeights, sortedMiddles);
+        }
+    }
+}
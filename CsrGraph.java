@@ -0,0 +1,364 @@
+package dsaprojects;
+
+import java.util.Arrays;
+
+public abstract class CsrGraph {
+    // Vertex ids index dense arrays, so the offsets of the largest id must still fit in one.
+    public static final int MAX_VERTEX_ID = Integer.MAX_VALUE - 10;
+
+    // Query threads ask for the reverse concurrently, so it is published through a volatile
+    // write after it has been built and linked.
+    private volatile CsrGraph reverse;
+
+    static CsrGraph of(int[] offsets, int[] targets, int[] weights) {
+        return new ArrayGraph(offsets, targets, weights);
+    }
+
+    public abstract int vertexCount();
+
+    public abstract int edgeCount();
+
+    public abstract int firstEdge(int vertex);
+
+    public abstract int endEdge(int vertex);
+
+    public abstract int target(int edge);
+
+    public abstract int weight(int edge);
+
+    // Hash over every vertex's arcs and weights, so a structure built for one graph can be
+    // told apart from one built for another graph of the same size, or for older weights.
+    public long fingerprint() {
+        int vertexCount = vertexCount();
+        long hash = mix(vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int end = endEdge(vertex);
+            hash = mix(hash + end - firstEdge(vertex));
+            for (int edge = firstEdge(vertex); edge < end; edge++) {
+                hash = mix(hash + (((long) target(edge) << 32) | (weight(edge) & 0xffffffffL)));
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        long mixed = value * 0x9e3779b97f4a7c15L;
+        return mixed ^ (mixed >>> 29);
+    }
+
+    // Returns a private copy that may be patched with setWeight and removeArc before it is
+    // published, or null if the storage cannot be copied that way. The adjacency structure
+    // is shared until the first removal, so only the weight arrays are duplicated up front.
+    CsrGraph copyForUpdates() {
+        return null;
+    }
+
+    void setWeight(int edge, int weight) {
+        throw new UnsupportedOperationException("Graph storage is read-only");
+    }
+
+    // Drops the arc by moving the last arc of the vertex into its slot and shortening the
+    // vertex's range, so edge ids stop being dense until the graph is compacted.
+    void removeArc(int vertex, int edge) {
+        throw new UnsupportedOperationException("Graph storage is read-only");
+    }
+
+    // Returns a graph without the gaps removeArc leaves, together with its compacted reverse
+    // if one is cached, or this graph if nothing was removed. Arcs are moved within the
+    // private arrays of the copy, which must not be used afterwards.
+    CsrGraph compacted() {
+        CsrGraph compact = compactArcs();
+        CsrGraph transposed = reverse;
+        if (compact != this && transposed != null) {
+            transposed.compactArcs().linkReverse(compact);
+        }
+        return compact;
+    }
+
+    CsrGraph compactArcs() {
+        return this;
+    }
+
+    CsrGraph cachedReverse() {
+        return reverse;
+    }
+
+    void linkReverse(CsrGraph transposed) {
+        transposed.reverse = this;
+        reverse = transposed;
+    }
+
+    boolean isOffHeap() {
+        return false;
+    }
+
+    public CsrGraph reverse() {
+        CsrGraph transposed = reverse;
+        if (transposed == null) {
+            synchronized (this) {
+                transposed = reverse;
+                if (transposed == null) {
+                    transposed = transpose();
+                    linkReverse(transposed);
+                }
+            }
+        }
+        return transposed;
+    }
+
+    CsrGraph transpose() {
+        Builder builder = new Builder(edgeCount());
+        builder.ensureVertexCount(vertexCount());
+        for (int vertex = 0; vertex < vertexCount(); vertex++) {
+            for (int edge = firstEdge(vertex); edge < endEdge(vertex); edge++) {
+                builder.addArc(target(edge), vertex, weight(edge));
+            }
+        }
+        return builder.build();
+    }
+
+    // Copies the graph into direct memory outside the Java heap; queries work unchanged.
+    public CsrGraph toOffHeap() {
+        return OffHeapCsrGraph.copyOf(this);
+    }
+
+    public Builder toBuilder() {
+        Builder builder = new Builder(edgeCount());
+        builder.ensureVertexCount(vertexCount());
+        for (int vertex = 0; vertex < vertexCount(); vertex++) {
+            for (int edge = firstEdge(vertex); edge < endEdge(vertex); edge++) {
+                builder.addArc(vertex, target(edge), weight(edge));
+            }
+        }
+        return builder;
+    }
+
+    // Arcs of each source are chained through nextArc, so edits of one arc only walk the arcs
+    // of its source. Removed arcs keep their slot, marked by a negative source, until build.
+    public static class Builder {
+        private int[] sources;
+        private int[] targets;
+        private int[] weights;
+        private int[] nextArc;
+        private int[] firstArc = new int[0];
+        private int size;
+        private int removed;
+        private int vertexCount;
+
+        public Builder() {
+            this(16);
+        }
+
+        public Builder(int expectedArcs) {
+            int capacity = Math.max(expectedArcs, 1);
+            sources = new int[capacity];
+            targets = new int[capacity];
+            weights = new int[capacity];
+            nextArc = new int[capacity];
+        }
+
+        public Builder ensureVertex(int vertex) {
+            if (vertex < 0 || vertex > MAX_VERTEX_ID) {
+                throw new IllegalArgumentException("Vertex ids must be between 0 and " + MAX_VERTEX_ID + ": " + vertex);
+            }
+            return ensureVertexCount(vertex + 1);
+        }
+
+        public Builder ensureVertexCount(int count) {
+            if (count < 0 || count > MAX_VERTEX_ID + 1) {
+                throw new IllegalArgumentException("Vertex count must be between 0 and " + (MAX_VERTEX_ID + 1) + ": " + count);
+            }
+            vertexCount = Math.max(vertexCount, count);
+            return this;
+        }
+
+        public Builder addArc(int source, int target, int weight) {
+            ensureVertex(source);
+            ensureVertex(target);
+            if (size == sources.length) {
+                int capacity = size * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                nextArc = Arrays.copyOf(nextArc, capacity);
+            }
+            if (source >= firstArc.length) {
+                int oldLength = firstArc.length;
+                firstArc = Arrays.copyOf(firstArc, (int) Math.min(MAX_VERTEX_ID + 1L, Math.max(source + 1L, 2L * oldLength)));
+                Arrays.fill(firstArc, oldLength, firstArc.length, -1);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            nextArc[size] = firstArc[source];
+            firstArc[source] = size;
+            size++;
+            return this;
+        }
+
+        public int arcCount() {
+            return size - removed;
+        }
+
+        public int minWeight(int source, int target) {
+            int min = Integer.MAX_VALUE;
+            for (int i = firstArc(source); i != -1; i = nextArc[i]) {
+                if (targets[i] == target) {
+                    min = Math.min(min, weights[i]);
+                }
+            }
+            return min;
+        }
+
+        public int setWeight(int source, int target, int weight) {
+            int updated = 0;
+            for (int i = firstArc(source); i != -1; i = nextArc[i]) {
+                if (targets[i] == target) {
+                    weights[i] = weight;
+                    updated++;
+                }
+            }
+            return updated;
+        }
+
+        public int removeArcs(int source, int target) {
+            int count = 0;
+            int previous = -1;
+            for (int i = firstArc(source); i != -1; i = nextArc[i]) {
+                if (targets[i] != target) {
+                    previous = i;
+                    continue;
+                }
+                if (previous == -1) {
+                    firstArc[source] = nextArc[i];
+                } else {
+                    nextArc[previous] = nextArc[i];
+                }
+                sources[i] = -1;
+                count++;
+            }
+            removed += count;
+            return count;
+        }
+
+        private int firstArc(int source) {
+            return source >= 0 && source < firstArc.length ? firstArc[source] : -1;
+        }
+
+        public CsrGraph build() {
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < size; i++) {
+                if (sources[i] >= 0) {
+                    offsets[sources[i] + 1]++;
+                }
+            }
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                offsets[vertex + 1] += offsets[vertex];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, vertexCount);
+            int[] csrTargets = new int[size - removed];
+            int[] csrWeights = new int[size - removed];
+            for (int i = 0; i < size; i++) {
+                if (sources[i] < 0) {
+                    continue;
+                }
+                int slot = cursor[sources[i]]++;
+                csrTargets[slot] = targets[i];
+                csrWeights[slot] = weights[i];
+            }
+            return new ArrayGraph(offsets, csrTargets, csrWeights);
+        }
+    }
+
+    private static final class ArrayGraph extends CsrGraph {
+        private final int[] offsets;
+        // Only reassigned by removeArc on a private draft; once the finder publishes a graph
+        // through its volatile snapshot, neither field changes again.
+        private int[] targets;
+        private final int[] weights;
+        private int[] ends;
+        private int removed;
+
+        ArrayGraph(int[] offsets, int[] targets, int[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        @Override
+        public int vertexCount() {
+            return offsets.length - 1;
+        }
+
+        @Override
+        public int edgeCount() {
+            return offsets[offsets.length - 1] - removed;
+        }
+
+        @Override
+        public int firstEdge(int vertex) {
+            return offsets[vertex];
+        }
+
+        @Override
+        public int endEdge(int vertex) {
+            return ends == null ? offsets[vertex + 1] : ends[vertex];
+        }
+
+        @Override
+        public int target(int edge) {
+            return targets[edge];
+        }
+
+        @Override
+        public int weight(int edge) {
+            return weights[edge];
+        }
+
+        @Override
+        CsrGraph copyForUpdates() {
+            CsrGraph copy = new ArrayGraph(offsets, targets, weights.clone());
+            CsrGraph transposed = cachedReverse();
+            if (transposed instanceof ArrayGraph) {
+                ArrayGraph arrays = (ArrayGraph) transposed;
+                new ArrayGraph(arrays.offsets, arrays.targets, arrays.weights.clone()).linkReverse(copy);
+            }
+            return copy;
+        }
+
+        @Override
+        void setWeight(int edge, int weight) {
+            weights[edge] = weight;
+        }
+
+        @Override
+        void removeArc(int vertex, int edge) {
+            if (ends == null) {
+                targets = targets.clone();
+                ends = Arrays.copyOfRange(offsets, 1, offsets.length);
+            }
+            int last = --ends[vertex];
+            targets[edge] = targets[last];
+            weights[edge] = weights[last];
+            removed++;
+        }
+
+        @Override
+        CsrGraph compactArcs() {
+            if (ends == null) {
+                return this;
+            }
+            int vertexCount = vertexCount();
+            int[] compactOffsets = new int[vertexCount + 1];
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                int start = compactOffsets[vertex];
+                int degree = ends[vertex] - offsets[vertex];
+                System.arraycopy(targets, offsets[vertex], targets, start, degree);
+                System.arraycopy(weights, offsets[vertex], weights, start, degree);
+                compactOffsets[vertex + 1] = start + degree;
+            }
+            return new ArrayGraph(compactOffsets, targets, weights);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package dsaprojects;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+public final class DeltaStepping {
+    private static final int PARALLEL_THRESHOLD = 1024;
+    private static final int CHUNK_SIZE = 256;
+
+    private final CsrGraph graph;
+    private final int delta;
+    private final ForkJoinPool pool;
+    private final AtomicIntegerArray distance;
+    private final IntList[] buckets;
+    private final int[] frontierStamps;
+    private final int[] settledStamps;
+    private int stamp;
+
+    private DeltaStepping(CsrGraph graph, int delta, ForkJoinPool pool) {
+        this.graph = graph;
+        this.delta = delta;
+        this.pool = pool;
+        int vertexCount = graph.vertexCount();
+        distance = new AtomicIntegerArray(vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            distance.set(vertex, Integer.MAX_VALUE);
+        }
+        buckets = new IntList[maxWeight(graph) / delta + 2];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new IntList();
+        }
+        frontierStamps = new int[vertexCount];
+        settledStamps = new int[vertexCount];
+    }
+
+    public static int[] shortestDistances(CsrGraph graph, int source) {
+        return shortestDistances(graph, source, autoDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    public static int[] shortestDistances(CsrGraph graph, int source, int delta, ForkJoinPool pool) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("Delta must be positive: " + delta);
+        }
+        DeltaStepping stepping = new DeltaStepping(graph, delta, pool);
+        if (source >= 0 && source < graph.vertexCount()) {
+            stepping.run(source);
+        }
+        int[] result = new int[graph.vertexCount()];
+        for (int vertex = 0; vertex < result.length; vertex++) {
+            result[vertex] = stepping.distance.get(vertex);
+        }
+        return result;
+    }
+
+    // Meyer and Sanders suggest a bucket width around the maximum weight over the degree:
+    // wide enough to give each phase real parallel work, narrow enough to keep re-relaxations rare.
+    public static int autoDelta(CsrGraph graph) {
+        int vertexCount = Math.max(graph.vertexCount(), 1);
+        double averageDegree = Math.max(1.0, (double) graph.edgeCount() / vertexCount);
+        return Math.max(1, (int) (maxWeight(graph) / averageDegree));
+    }
+
+    private static int maxWeight(CsrGraph graph) {
+        int max = 0;
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            max = Math.max(max, graph.weight(edge));
+        }
+        return max;
+    }
+
+    private void run(int source) {
+        distance.set(source, 0);
+        buckets[0].add(source);
+
+        int current = 0;
+        while (true) {
+            int index = nextNonEmptyBucket(current);
+            if (index == -1) {
+                break;
+            }
+            current = index;
+            IntList settled = new IntList();
+            stamp++;
+            int settledStamp = stamp;
+
+            IntList bucket = buckets[current % buckets.length];
+            while (!bucket.isEmpty()) {
+                stamp++;
+                IntList frontier = new IntList(bucket.size());
+                for (int i = 0; i < bucket.size(); i++) {
+                    int vertex = bucket.get(i);
+                    if (frontierStamps[vertex] != stamp && distance.get(vertex) / delta == current) {
+                        frontierStamps[vertex] = stamp;
+                        frontier.add(vertex);
+                        if (settledStamps[vertex] != settledStamp) {
+                            settledStamps[vertex] = settledStamp;
+                            settled.add(vertex);
+                        }
+                    }
+                }
+                bucket.clear();
+                relaxAll(frontier, true);
+            }
+            relaxAll(settled, false);
+            current++;
+        }
+    }
+
+    private int nextNonEmptyBucket(int from) {
+        for (int i = 0; i < buckets.length; i++) {
+            if (!buckets[(from + i) % buckets.length].isEmpty()) {
+                return from + i;
+            }
+        }
+        return -1;
+    }
+
+    private void relaxAll(IntList vertices, boolean light) {
+        int size = vertices.size();
+        if (size == 0) {
+            return;
+        }
+        IntList[] improved;
+        if (size < PARALLEL_THRESHOLD) {
+            improved = new IntList[] {relaxRange(vertices, 0, size, light)};
+        } else {
+            int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            improved = new IntList[chunks];
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk ->
+                    improved[chunk] = relaxRange(vertices, chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE), light)))
+                    .join();
+        }
+        for (IntList list : improved) {
+            for (int i = 0; i < list.size(); i++) {
+                int vertex = list.get(i);
+                buckets[(distance.get(vertex) / delta) % buckets.length].add(vertex);
+            }
+        }
+    }
+
+    private IntList relaxRange(IntList vertices, int from, int to, boolean light) {
+        IntList improved = new IntList();
+        for (int i = from; i < to; i++) {
+            int vertex = vertices.get(i);
+            int vertexDistance = distance.get(vertex);
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                int weight = graph.weight(edge);
+                if ((weight <= delta) != light) {
+                    continue;
+                }
+                int target = graph.target(edge);
+                int newDistance = vertexDistance + weight;
+                int old = distance.get(target);
+                while (newDistance < old) {
+                    if (distance.compareAndSet(target, old, newDistance)) {
+                        improved.add(target);
+                        break;
+                    }
+                    old = distance.get(target);
+                }
+            }
+        }
+        return improved;
+    }
+}
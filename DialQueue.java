@@ -0,0 +1,132 @@
+package dsaprojects;
+
+final class DialQueue implements VertexQueue {
+    // Past this many buckets the key span is too wide for a bucket array (a span of 2^30 or
+    // more would not even have a valid power-of-two length), so the queue spills to a heap.
+    private static final int MAX_BUCKETS = 1 << 20;
+
+    private IntList[] buckets = newBuckets(64);
+    private int cursor;
+    private int maxKey;
+    private int size;
+    private int vertexCount;
+    private IndexedDaryHeap overflow;
+    private boolean spilled;
+
+    @Override
+    public void ensureCapacity(int vertexCount) {
+        this.vertexCount = Math.max(this.vertexCount, vertexCount);
+        if (overflow != null) {
+            overflow.ensureCapacity(vertexCount);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (IntList bucket : buckets) {
+            bucket.clear();
+        }
+        size = 0;
+        if (overflow != null) {
+            overflow.clear();
+        }
+        spilled = false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return spilled ? overflow.isEmpty() : size == 0;
+    }
+
+    @Override
+    public void push(int vertex, int key) {
+        if (spilled) {
+            overflow.push(vertex, key);
+            return;
+        }
+        if (size == 0) {
+            cursor = key;
+            maxKey = key;
+        }
+        int newCursor = Math.min(cursor, key);
+        long span = (long) Math.max(maxKey, key) - newCursor + 1;
+        if (span > MAX_BUCKETS) {
+            spill();
+            overflow.push(vertex, key);
+            return;
+        }
+        maxKey = Math.max(maxKey, key);
+        if (span > buckets.length) {
+            grow((int) span);
+        }
+        cursor = newCursor;
+        buckets[key & (buckets.length - 1)].add(vertex);
+        size++;
+    }
+
+    @Override
+    public int minKey() {
+        if (spilled) {
+            return overflow.minKey();
+        }
+        advance();
+        return cursor;
+    }
+
+    @Override
+    public int poll() {
+        if (spilled) {
+            return overflow.poll();
+        }
+        advance();
+        size--;
+        return buckets[cursor & (buckets.length - 1)].removeLast();
+    }
+
+    private void advance() {
+        int mask = buckets.length - 1;
+        while (buckets[cursor & mask].isEmpty()) {
+            cursor++;
+        }
+    }
+
+    private void grow(int span) {
+        int capacity = Integer.highestOneBit(span - 1) << 1;
+        IntList[] old = buckets;
+        int oldMask = old.length - 1;
+        buckets = newBuckets(capacity);
+        for (int offset = 0; offset < old.length; offset++) {
+            int key = cursor + offset;
+            IntList bucket = old[key & oldMask];
+            while (!bucket.isEmpty()) {
+                buckets[key & (capacity - 1)].add(bucket.removeLast());
+            }
+        }
+    }
+
+    // Moves every queued entry into the heap; a vertex queued twice keeps its smaller key,
+    // which is the only one a search would act on.
+    private void spill() {
+        if (overflow == null) {
+            overflow = new IndexedDaryHeap(4);
+        }
+        overflow.ensureCapacity(vertexCount);
+        int mask = buckets.length - 1;
+        for (int offset = 0; size > 0 && offset < buckets.length; offset++) {
+            IntList bucket = buckets[(cursor + offset) & mask];
+            while (!bucket.isEmpty()) {
+                overflow.push(bucket.removeLast(), cursor + offset);
+                size--;
+            }
+        }
+        spilled = true;
+    }
+
+    private static IntList[] newBuckets(int capacity) {
+        IntList[] buckets = new IntList[capacity];
+        for (int i = 0; i < capacity; i++) {
+            buckets[i] = new IntList(4);
+        }
+        return buckets;
+    }
+}
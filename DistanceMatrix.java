@@ -0,0 +1,81 @@
+package dsaprojects;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public final class DistanceMatrix {
+    private DistanceMatrix() {
+    }
+
+    public static int[] compute(CsrGraph graph, int[] sources, int[] targets, QueueType queueType, ForkJoinPool pool) {
+        int[] matrix = new int[cellCount(sources.length, targets.length)];
+        int vertexCount = graph.vertexCount();
+        boolean[] isTarget = new boolean[vertexCount];
+        int distinctTargets = 0;
+        for (int target : targets) {
+            if (target >= 0 && target < vertexCount && !isTarget[target]) {
+                isTarget[target] = true;
+                distinctTargets++;
+            }
+        }
+
+        int remaining = distinctTargets;
+        pool.submit(() -> IntStream.range(0, sources.length).parallel().forEach(row ->
+                fillRow(graph, sources[row], targets, isTarget, remaining, queueType, matrix, row * targets.length)))
+                .join();
+        return matrix;
+    }
+
+    static int cellCount(int sourceCount, int targetCount) {
+        try {
+            return Math.multiplyExact(sourceCount, targetCount);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Distance matrix of " + sourceCount + " x " + targetCount
+                    + " entries does not fit in an array");
+        }
+    }
+
+    private static void fillRow(CsrGraph graph, int source, int[] targets, boolean[] isTarget, int remaining,
+                                QueueType queueType, int[] matrix, int rowStart) {
+        int vertexCount = graph.vertexCount();
+        if (source < 0 || source >= vertexCount) {
+            for (int column = 0; column < targets.length; column++) {
+                matrix[rowStart + column] = targets[column] == source ? 0 : Integer.MAX_VALUE;
+            }
+            return;
+        }
+
+        QueryWorkspace workspace = QueryWorkspace.forCurrentThread();
+        VertexQueue queue = workspace.queue(queueType, vertexCount);
+        workspace.reset(vertexCount);
+        workspace.update(source, 0, -1);
+        queue.push(source, 0);
+
+        while (remaining > 0 && !queue.isEmpty()) {
+            int key = queue.minKey();
+            int vertex = queue.poll();
+            int vertexDistance = workspace.distance(vertex);
+            if (key > vertexDistance) {
+                continue;
+            }
+            if (isTarget[vertex]) {
+                remaining--;
+            }
+
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                int target = graph.target(edge);
+                int newDistance = vertexDistance + graph.weight(edge);
+
+                if (newDistance < workspace.distance(target)) {
+                    workspace.update(target, newDistance, vertex);
+                    queue.push(target, newDistance);
+                }
+            }
+        }
+
+        for (int column = 0; column < targets.length; column++) {
+            int target = targets[column];
+            matrix[rowStart + column] = target >= 0 && target < vertexCount ? workspace.distance(target) : Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package dsaprojects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Distances and parents are kept by internal vertex id; order translates the caller's ids.
+public final class DynamicShortestPathTree {
+    private final int source;
+    private VertexOrder order;
+    private int[] distance;
+    private int[] parent;
+    private int[] marks;
+    private int mark;
+
+    DynamicShortestPathTree(CsrGraph graph, int source, VertexOrder order) {
+        this.source = source;
+        this.order = order;
+        recompute(graph);
+    }
+
+    // Rebuilds the tree from scratch, for changes too broad to repair arc by arc.
+    synchronized void recompute(CsrGraph graph) {
+        int root = order.toInternal(source);
+        int vertexCount = graph.vertexCount();
+        distance = new int[vertexCount];
+        parent = new int[vertexCount];
+        marks = new int[vertexCount];
+        mark = 0;
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        if (root < vertexCount) {
+            distance[root] = 0;
+            VertexQueue queue = queue(vertexCount);
+            queue.push(root, 0);
+            propagate(graph, queue, null);
+        }
+    }
+
+    public int source() {
+        return source;
+    }
+
+    public synchronized int distance(int vertex) {
+        int internal = order.toInternal(vertex);
+        return internal < distance.length ? distance[internal] : Integer.MAX_VALUE;
+    }
+
+    public synchronized List<Integer> pathTo(int vertex) {
+        List<Integer> path = new ArrayList<>();
+        if (distance(vertex) == Integer.MAX_VALUE) {
+            return path;
+        }
+        for (int current = order.toInternal(vertex); current != -1; current = parent[current]) {
+            path.add(order.toExternal(current));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // Moves the tree into the numbering step produces; the distances themselves are unchanged.
+    synchronized void renumber(VertexOrder step, VertexOrder order) {
+        int[] parents = step.permute(parent, -1);
+        for (int vertex = 0; vertex < parents.length; vertex++) {
+            if (parents[vertex] != -1) {
+                parents[vertex] = step.toInternal(parents[vertex]);
+            }
+        }
+        distance = step.permute(distance, Integer.MAX_VALUE);
+        parent = parents;
+        marks = new int[parents.length];
+        mark = 0;
+        this.order = order;
+    }
+
+    synchronized void arcDecreased(CsrGraph graph, int tail, int head, int weight) {
+        grow(graph.vertexCount());
+        if (distance[tail] == Integer.MAX_VALUE || (long) distance[tail] + weight >= distance[head]) {
+            return;
+        }
+        distance[head] = distance[tail] + weight;
+        parent[head] = tail;
+        VertexQueue queue = queue(graph.vertexCount());
+        queue.push(head, distance[head]);
+        propagate(graph, queue, null);
+    }
+
+    // Ramalingam-Reps style repair: only the subtree hanging off the weakened arc can get
+    // longer, so those vertices are re-seeded from their unaffected in-neighbours and settled
+    // again with a Dijkstra confined to the subtree.
+    synchronized void arcIncreased(CsrGraph graph, int tail, int head) {
+        grow(graph.vertexCount());
+        if (parent[head] != tail) {
+            return;
+        }
+
+        mark++;
+        IntList affected = new IntList();
+        marks[head] = mark;
+        affected.add(head);
+        for (int i = 0; i < affected.size(); i++) {
+            int vertex = affected.get(i);
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                int child = graph.target(edge);
+                if (parent[child] == vertex && marks[child] != mark) {
+                    marks[child] = mark;
+                    affected.add(child);
+                }
+            }
+        }
+
+        CsrGraph reverse = graph.reverse();
+        VertexQueue queue = queue(graph.vertexCount());
+        for (int i = 0; i < affected.size(); i++) {
+            int vertex = affected.get(i);
+            distance[vertex] = Integer.MAX_VALUE;
+            parent[vertex] = -1;
+        }
+        for (int i = 0; i < affected.size(); i++) {
+            int vertex = affected.get(i);
+            for (int edge = reverse.firstEdge(vertex), end = reverse.endEdge(vertex); edge < end; edge++) {
+                int predecessor = reverse.target(edge);
+                if (marks[predecessor] == mark || distance[predecessor] == Integer.MAX_VALUE) {
+                    continue;
+                }
+                int candidate = distance[predecessor] + reverse.weight(edge);
+                if (candidate < distance[vertex]) {
+                    distance[vertex] = candidate;
+                    parent[vertex] = predecessor;
+                }
+            }
+            if (distance[vertex] != Integer.MAX_VALUE) {
+                queue.push(vertex, distance[vertex]);
+            }
+        }
+        propagate(graph, queue, marks);
+    }
+
+    private void propagate(CsrGraph graph, VertexQueue queue, int[] restrictTo) {
+        while (!queue.isEmpty()) {
+            int key = queue.minKey();
+            int vertex = queue.poll();
+            int vertexDistance = distance[vertex];
+            if (key > vertexDistance) {
+                continue;
+            }
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                int target = graph.target(edge);
+                if (restrictTo != null && restrictTo[target] != mark) {
+                    continue;
+                }
+                int newDistance = vertexDistance + graph.weight(edge);
+                if (newDistance < distance[target]) {
+                    distance[target] = newDistance;
+                    parent[target] = vertex;
+                    queue.push(target, newDistance);
+                }
+            }
+        }
+    }
+
+    private void grow(int vertexCount) {
+        if (distance.length < vertexCount) {
+            int oldLength = distance.length;
+            distance = Arrays.copyOf(distance, vertexCount);
+            parent = Arrays.copyOf(parent, vertexCount);
+            marks = Arrays.copyOf(marks, vertexCount);
+            Arrays.fill(distance, oldLength, vertexCount, Integer.MAX_VALUE);
+            Arrays.fill(parent, oldLength, vertexCount, -1);
+        }
+    }
+
+    private static VertexQueue queue(int vertexCount) {
+        return QueryWorkspace.forCurrentThread().queue(QueueType.FOUR_ARY_HEAP, vertexCount);
+    }
+}
@@ -0,0 +1,287 @@
+package dsaprojects;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+public final class EdgeListImporter {
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+    private static final long MAX_CHUNK_BYTES = 1 << 28;
+
+    public enum Format {
+        DIMACS,
+        CSV
+    }
+
+    private EdgeListImporter() {
+    }
+
+    public static CsrGraph read(Path file, Format format) throws IOException {
+        return read(file, format, format == Format.CSV, ForkJoinPool.commonPool());
+    }
+
+    public static CsrGraph read(Path file, Format format, boolean bidirectional, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = chunkBoundaries(channel, pool.getParallelism());
+            int chunkCount = boundaries.length - 1;
+            Chunk[] chunks = new Chunk[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, boundaries[i], boundaries[i + 1] - boundaries[i]);
+                chunks[i] = new Chunk(buffer, boundaries[i]);
+            }
+            try {
+                pool.submit(() -> Arrays.stream(chunks).parallel().forEach(chunk -> chunk.parse(format, bidirectional))).join();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return build(chunks, pool);
+        }
+    }
+
+    private static long[] chunkBoundaries(FileChannel channel, int parallelism) throws IOException {
+        long size = channel.size();
+        long chunkBytes = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, size / Math.max(1, parallelism * 4L)));
+        LongList boundaries = new LongList();
+        boundaries.add(0);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = chunkBytes;
+        while (position < size) {
+            long lineEnd = nextLineStart(channel, probe, position);
+            if (lineEnd >= size) {
+                break;
+            }
+            boundaries.add(lineEnd);
+            position = lineEnd + chunkBytes;
+        }
+        boundaries.add(size);
+        return boundaries.toArray();
+    }
+
+    private static long nextLineStart(FileChannel channel, ByteBuffer probe, long position) throws IOException {
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private static CsrGraph build(Chunk[] chunks, ForkJoinPool pool) {
+        int vertexCount = 0;
+        int edgeCount = 0;
+        for (Chunk chunk : chunks) {
+            vertexCount = Math.max(vertexCount, Math.max(chunk.maxVertex + 1, chunk.declaredVertices + 1));
+            edgeCount = Math.addExact(edgeCount, chunk.sources.size());
+        }
+
+        AtomicIntegerArray degrees = new AtomicIntegerArray(vertexCount);
+        pool.submit(() -> Arrays.stream(chunks).parallel().forEach(chunk -> {
+            for (int i = 0; i < chunk.sources.size(); i++) {
+                degrees.incrementAndGet(chunk.sources.get(i));
+            }
+        })).join();
+
+        int[] offsets = new int[vertexCount + 1];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            offsets[vertex + 1] = offsets[vertex] + degrees.get(vertex);
+        }
+        AtomicIntegerArray cursors = new AtomicIntegerArray(Arrays.copyOf(offsets, vertexCount));
+
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        pool.submit(() -> Arrays.stream(chunks).parallel().forEach(chunk -> {
+            for (int i = 0; i < chunk.sources.size(); i++) {
+                int slot = cursors.getAndIncrement(chunk.sources.get(i));
+                targets[slot] = chunk.targets.get(i);
+                weights[slot] = chunk.weights.get(i);
+            }
+        })).join();
+
+        // The parallel fill interleaves chunks nondeterministically; sorting each adjacency
+        // range keeps the imported graph, and therefore tie-breaking, reproducible.
+        int finalVertexCount = vertexCount;
+        pool.submit(() -> IntStream.range(0, finalVertexCount).parallel()
+                .forEach(vertex -> sortRange(targets, weights, offsets[vertex], offsets[vertex + 1]))).join();
+        return CsrGraph.of(offsets, targets, weights);
+    }
+
+    private static void sortRange(int[] targets, int[] weights, int from, int to) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int target = targets[i];
+                int weight = weights[i];
+                int j = i - 1;
+                while (j >= from && (targets[j] > target || (targets[j] == target && weights[j] > weight))) {
+                    targets[j + 1] = targets[j];
+                    weights[j + 1] = weights[j];
+                    j--;
+                }
+                targets[j + 1] = target;
+                weights[j + 1] = weight;
+            }
+            return;
+        }
+        long[] packed = new long[to - from];
+        for (int i = from; i < to; i++) {
+            packed[i - from] = ((long) targets[i] << 32) | (weights[i] - (long) Integer.MIN_VALUE);
+        }
+        Arrays.sort(packed);
+        for (int i = from; i < to; i++) {
+            targets[i] = (int) (packed[i - from] >>> 32);
+            weights[i] = (int) ((packed[i - from] & 0xffffffffL) + Integer.MIN_VALUE);
+        }
+    }
+
+    private static final class Chunk {
+        private final ByteBuffer buffer;
+        private final long fileOffset;
+        private final IntList sources = new IntList();
+        private final IntList targets = new IntList();
+        private final IntList weights = new IntList();
+        private int position;
+        private int maxVertex = -1;
+        private int declaredVertices;
+
+        Chunk(ByteBuffer buffer, long fileOffset) {
+            this.buffer = buffer;
+            this.fileOffset = fileOffset;
+        }
+
+        void parse(Format format, boolean bidirectional) {
+            int limit = buffer.limit();
+            while (position < limit) {
+                skipBlanks();
+                if (position >= limit) {
+                    break;
+                }
+                byte first = buffer.get(position);
+                if (format == Format.DIMACS) {
+                    if (first == 'a') {
+                        position++;
+                        addArc(readInt(), readInt(), readInt(), false);
+                    } else if (first == 'p') {
+                        position++;
+                        skipWord();
+                        declaredVertices = readInt();
+                        if (declaredVertices < 0 || declaredVertices > CsrGraph.MAX_VERTEX_ID) {
+                            throw malformed("vertex count out of range");
+                        }
+                    }
+                } else if (isDigit(first) || first == '-') {
+                    addArc(readInt(), readInt(), readInt(), bidirectional);
+                }
+                skipLine();
+            }
+        }
+
+        private void addArc(int source, int target, int weight, boolean bidirectional) {
+            if (source < 0 || target < 0) {
+                throw malformed("negative vertex id");
+            }
+            if (source > CsrGraph.MAX_VERTEX_ID || target > CsrGraph.MAX_VERTEX_ID) {
+                throw malformed("vertex id above " + CsrGraph.MAX_VERTEX_ID);
+            }
+            sources.add(source);
+            targets.add(target);
+            weights.add(weight);
+            if (bidirectional) {
+                sources.add(target);
+                targets.add(source);
+                weights.add(weight);
+            }
+            maxVertex = Math.max(maxVertex, Math.max(source, target));
+        }
+
+        private int readInt() {
+            int limit = buffer.limit();
+            while (position < limit && isSeparator(buffer.get(position))) {
+                position++;
+            }
+            boolean negative = position < limit && buffer.get(position) == '-';
+            if (negative) {
+                position++;
+            }
+            int start = position;
+            long value = 0;
+            while (position < limit && isDigit(buffer.get(position))) {
+                value = value * 10 + (buffer.get(position) - '0');
+                if (value > Integer.MAX_VALUE) {
+                    throw malformed("number out of range");
+                }
+                position++;
+            }
+            if (position == start) {
+                throw malformed("expected a number");
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        private void skipBlanks() {
+            while (position < buffer.limit() && isBlank(buffer.get(position))) {
+                position++;
+            }
+        }
+
+        private void skipWord() {
+            skipBlanks();
+            while (position < buffer.limit() && !isBlank(buffer.get(position)) && buffer.get(position) != '\n') {
+                position++;
+            }
+        }
+
+        private void skipLine() {
+            while (position < buffer.limit()) {
+                if (buffer.get(position++) == '\n') {
+                    return;
+                }
+            }
+        }
+
+        private UncheckedIOException malformed(String reason) {
+            return new UncheckedIOException(new IOException("Malformed edge list at byte " + (fileOffset + position) + ": " + reason));
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private static boolean isBlank(byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+
+        private static boolean isSeparator(byte b) {
+            return isBlank(b) || b == ',' || b == ';';
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package dsaprojects;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class GraphFile {
+    private static final int MAGIC = 0x53504731;
+    // Version 2 added the vertex order section; version 1 files are still read.
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+    private static final int FLAG_COORDINATES = 1;
+    private static final int FLAG_VERTEX_ORDER = 2;
+
+    private final CsrGraph graph;
+    private final VertexCoordinates coordinates;
+    private final VertexOrder order;
+
+    private GraphFile(CsrGraph graph, VertexCoordinates coordinates, VertexOrder order) {
+        this.graph = graph;
+        this.coordinates = coordinates;
+        this.order = order;
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    // Indexed like graph(), which is in the file's own numbering.
+    public VertexCoordinates coordinates() {
+        return coordinates;
+    }
+
+    public VertexOrder vertexOrder() {
+        return order;
+    }
+
+    public static void write(Path file, CsrGraph graph, VertexCoordinates coordinates) throws IOException {
+        write(file, graph, coordinates, VertexOrder.IDENTITY);
+    }
+
+    // A renumbered graph is stored as it is laid out in memory, so mapping the file back in
+    // keeps the locality; the order follows the other sections so ids can be translated.
+    public static void write(Path file, CsrGraph graph, VertexCoordinates coordinates, VertexOrder order)
+            throws IOException {
+        int vertexCount = graph.vertexCount();
+        int edgeCount = graph.edgeCount();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt((coordinates != null ? FLAG_COORDINATES : 0) | (order.isIdentity() ? 0 : FLAG_VERTEX_ORDER));
+            buffer.putInt(vertexCount);
+            buffer.putLong(edgeCount);
+            buffer.putLong(0);
+
+            for (int vertex = 0; vertex <= vertexCount; vertex++) {
+                buffer = putInt(channel, buffer, vertex < vertexCount ? graph.firstEdge(vertex) : edgeCount);
+            }
+            for (int edge = 0; edge < edgeCount; edge++) {
+                buffer = putInt(channel, buffer, graph.target(edge));
+            }
+            for (int edge = 0; edge < edgeCount; edge++) {
+                buffer = putInt(channel, buffer, graph.weight(edge));
+            }
+            if (coordinates != null) {
+                if (intSectionBytes(vertexCount, edgeCount) % 8 != 0) {
+                    buffer = putInt(channel, buffer, 0);
+                }
+                for (int vertex = 0; vertex < vertexCount; vertex++) {
+                    buffer = putDouble(channel, buffer, coordinates.x(vertex));
+                }
+                for (int vertex = 0; vertex < vertexCount; vertex++) {
+                    buffer = putDouble(channel, buffer, coordinates.y(vertex));
+                }
+            }
+            if (!order.isIdentity()) {
+                for (int vertex = 0; vertex < vertexCount; vertex++) {
+                    buffer = putInt(channel, buffer, order.toExternal(vertex));
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    public static GraphFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a graph file: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a graph file: " + file);
+            }
+            int version = header.getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported graph file version " + version + ": " + file);
+            }
+            int flags = header.getInt();
+            int knownFlags = version == 1 ? FLAG_COORDINATES : FLAG_COORDINATES | FLAG_VERTEX_ORDER;
+            if ((flags & ~knownFlags) != 0) {
+                throw new IOException("Unsupported section flags 0x" + Integer.toHexString(flags & ~knownFlags)
+                        + " in graph file version " + version + ": " + file);
+            }
+            int vertexCount = header.getInt();
+            long edgeCount = header.getLong();
+            if (vertexCount < 0 || vertexCount > CsrGraph.MAX_VERTEX_ID + 1) {
+                throw new IOException("Graph file has an invalid vertex count " + vertexCount + ": " + file);
+            }
+            if (edgeCount < 0 || edgeCount > Integer.MAX_VALUE) {
+                throw new IOException("Graph file has an invalid edge count " + edgeCount + ": " + file);
+            }
+            int edges = (int) edgeCount;
+            if (channel.size() < intSectionBytes(vertexCount, edges)) {
+                throw new IOException("Truncated graph file: " + file);
+            }
+
+            long position = HEADER_BYTES;
+            OffHeapIntArray offsets = OffHeapIntArray.map(channel, position, vertexCount + 1L, ByteOrder.LITTLE_ENDIAN);
+            position += 4L * (vertexCount + 1);
+            OffHeapIntArray targets = OffHeapIntArray.map(channel, position, edges, ByteOrder.LITTLE_ENDIAN);
+            position += 4L * edges;
+            OffHeapIntArray weights = OffHeapIntArray.map(channel, position, edges, ByteOrder.LITTLE_ENDIAN);
+            position += 4L * edges;
+            validate(file, offsets, targets, vertexCount, edges);
+
+            VertexCoordinates coordinates = null;
+            if ((flags & FLAG_COORDINATES) != 0) {
+                position = (position + 7) & ~7L;
+                if (channel.size() < position + 16L * vertexCount) {
+                    throw new IOException("Truncated graph file: " + file);
+                }
+                ByteBuffer xs = channel.map(FileChannel.MapMode.READ_ONLY, position, 8L * vertexCount).order(ByteOrder.LITTLE_ENDIAN);
+                ByteBuffer ys = channel.map(FileChannel.MapMode.READ_ONLY, position + 8L * vertexCount, 8L * vertexCount)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                coordinates = new VertexCoordinates();
+                for (int vertex = 0; vertex < vertexCount; vertex++) {
+                    double x = xs.getDouble(8 * vertex);
+                    if (!Double.isNaN(x)) {
+                        coordinates.set(vertex, x, ys.getDouble(8 * vertex));
+                    }
+                }
+                position += 16L * vertexCount;
+            }
+
+            VertexOrder order = VertexOrder.IDENTITY;
+            if ((flags & FLAG_VERTEX_ORDER) != 0) {
+                if (channel.size() < position + 4L * vertexCount) {
+                    throw new IOException("Truncated graph file: " + file);
+                }
+                IntBuffer ids = channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * vertexCount)
+                        .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                int[] externalIds = new int[vertexCount];
+                ids.get(externalIds);
+                try {
+                    order = VertexOrder.fromExternalIds(externalIds);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Corrupt vertex order in " + file + ": " + e.getMessage());
+                }
+            }
+            return new GraphFile(new OffHeapCsrGraph(offsets, targets, weights), coordinates, order);
+        }
+    }
+
+    // Queries index straight into the mapped arrays, so a corrupt file has to be refused here
+    // rather than surface later as an out-of-bounds read on a query thread.
+    private static void validate(Path file, OffHeapIntArray offsets, OffHeapIntArray targets, int vertexCount,
+            int edgeCount) throws IOException {
+        if (offsets.get(0) != 0 || offsets.get(vertexCount) != edgeCount) {
+            throw new IOException("Corrupt edge offsets in " + file);
+        }
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            if (offsets.get(vertex) > offsets.get(vertex + 1)) {
+                throw new IOException("Corrupt edge offsets in " + file + " at vertex " + vertex);
+            }
+        }
+        for (int edge = 0; edge < edgeCount; edge++) {
+            int target = targets.get(edge);
+            if (target < 0 || target >= vertexCount) {
+                throw new IOException("Corrupt edge target " + target + " in " + file + " at edge " + edge);
+            }
+        }
+    }
+
+    private static long intSectionBytes(int vertexCount, int edgeCount) {
+        return HEADER_BYTES + 4L * (vertexCount + 1) + 8L * edgeCount;
+    }
+
+    private static ByteBuffer putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < 4) {
+            flush(channel, buffer);
+        }
+        return buffer.putInt(value);
+    }
+
+    private static ByteBuffer putDouble(FileChannel channel, ByteBuffer buffer, double value) throws IOException {
+        if (buffer.remaining() < 8) {
+            flush(channel, buffer);
+        }
+        return buffer.putDouble(value);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
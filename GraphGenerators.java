@@ -0,0 +1,130 @@
+package dsaprojects;
+
+import java.util.Random;
+
+public final class GraphGenerators {
+    private GraphGenerators() {
+    }
+
+    public static CsrGraph grid(int side, Random random) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(side * side * 4);
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int vertex = row * side + col;
+                if (col + 1 < side) {
+                    int weight = 1 + random.nextInt(100);
+                    builder.addArc(vertex, vertex + 1, weight);
+                    builder.addArc(vertex + 1, vertex, weight);
+                }
+                if (row + 1 < side) {
+                    int weight = 1 + random.nextInt(100);
+                    builder.addArc(vertex, vertex + side, weight);
+                    builder.addArc(vertex + side, vertex, weight);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    // Points uniform in the unit square, joined when closer than the radius that gives the
+    // requested average degree. Weights are the distance scaled to 10000 per unit, so a
+    // Euclidean heuristic with weightPerUnit 10000 stays admissible. Coordinates may be null.
+    public static CsrGraph randomGeometric(int vertexCount, double averageDegree, Random random,
+                                           VertexCoordinates coordinates) {
+        double[] xs = new double[vertexCount];
+        double[] ys = new double[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            xs[vertex] = random.nextDouble();
+            ys[vertex] = random.nextDouble();
+            if (coordinates != null) {
+                coordinates.set(vertex, xs[vertex], ys[vertex]);
+            }
+        }
+
+        double radius = Math.sqrt(averageDegree / (Math.PI * Math.max(1, vertexCount)));
+        int cells = Math.max(1, (int) (1 / radius));
+        int[] cellStart = new int[cells * cells + 1];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            cellStart[cell(xs[vertex], ys[vertex], cells) + 1]++;
+        }
+        for (int cell = 0; cell < cells * cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] cursor = cellStart.clone();
+        int[] members = new int[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            members[cursor[cell(xs[vertex], ys[vertex], cells)]++] = vertex;
+        }
+
+        CsrGraph.Builder builder = new CsrGraph.Builder((int) (vertexCount * averageDegree) + 1);
+        builder.ensureVertexCount(vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int row = Math.min(cells - 1, (int) (ys[vertex] * cells));
+            int col = Math.min(cells - 1, (int) (xs[vertex] * cells));
+            for (int r = Math.max(0, row - 1); r <= Math.min(cells - 1, row + 1); r++) {
+                for (int c = Math.max(0, col - 1); c <= Math.min(cells - 1, col + 1); c++) {
+                    int cell = r * cells + c;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        int other = members[i];
+                        if (other <= vertex) {
+                            continue;
+                        }
+                        double dx = xs[vertex] - xs[other];
+                        double dy = ys[vertex] - ys[other];
+                        double distance = Math.sqrt(dx * dx + dy * dy);
+                        if (distance <= radius) {
+                            int weight = 1 + (int) Math.ceil(distance * 10000);
+                            builder.addArc(vertex, other, weight);
+                            builder.addArc(other, vertex, weight);
+                        }
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static int cell(double x, double y, int cells) {
+        return Math.min(cells - 1, (int) (y * cells)) * cells + Math.min(cells - 1, (int) (x * cells));
+    }
+
+    // Barabasi-Albert preferential attachment: each new vertex links to edgesPerVertex
+    // earlier vertices picked in proportion to their degree, which gives the heavy-tailed
+    // degree distribution of social and web graphs.
+    public static CsrGraph powerLaw(int vertexCount, int edgesPerVertex, Random random) {
+        int seed = Math.min(vertexCount, edgesPerVertex + 1);
+        CsrGraph.Builder builder = new CsrGraph.Builder(2 * vertexCount * edgesPerVertex);
+        builder.ensureVertexCount(vertexCount);
+        IntList endpoints = new IntList();
+        for (int vertex = 0; vertex < seed; vertex++) {
+            for (int other = vertex + 1; other < seed; other++) {
+                addEdge(builder, endpoints, vertex, other, 1 + random.nextInt(100));
+            }
+        }
+        int[] chosen = new int[edgesPerVertex];
+        for (int vertex = seed; vertex < vertexCount; vertex++) {
+            int count = 0;
+            while (count < edgesPerVertex) {
+                int candidate = endpoints.get(random.nextInt(endpoints.size()));
+                boolean duplicate = false;
+                for (int i = 0; i < count; i++) {
+                    duplicate |= chosen[i] == candidate;
+                }
+                if (!duplicate) {
+                    chosen[count++] = candidate;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                addEdge(builder, endpoints, vertex, chosen[i], 1 + random.nextInt(100));
+            }
+        }
+        return builder.build();
+    }
+
+    private static void addEdge(CsrGraph.Builder builder, IntList endpoints, int source, int target, int weight) {
+        builder.addArc(source, target, weight);
+        builder.addArc(target, source, weight);
+        endpoints.add(source);
+        endpoints.add(target);
+    }
+}
@@ -0,0 +1,158 @@
+package dsaprojects;
+
+import java.util.concurrent.ForkJoinPool;
+
+public final class GraphSnapshot {
+    private final CsrGraph graph;
+    private final long version;
+    private final VertexOrder order;
+    private volatile ContractionHierarchy contractionHierarchy;
+    private volatile LandmarkHeuristic landmarks;
+    private volatile MultiLevelPartition partition;
+    private volatile OverlayGraph overlay;
+    private volatile VertexCoordinates coordinates;
+
+    GraphSnapshot(CsrGraph graph, long version, VertexOrder order, VertexCoordinates coordinates) {
+        this.graph = graph;
+        this.version = version;
+        this.order = order;
+        this.coordinates = coordinates;
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    // Maps the finder's vertex ids to the ids of graph() and of every structure derived from it.
+    public VertexOrder order() {
+        return order;
+    }
+
+    // Indexed by the finder's vertex ids, like heuristics, and read-only; null if no
+    // coordinates were set. The finder installs a new copy when they change.
+    public VertexCoordinates coordinates() {
+        return coordinates;
+    }
+
+    void setCoordinates(VertexCoordinates coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    // Derived structures are built at most once per version, by whichever reader asks first;
+    // everyone else waits for that build rather than repeating it.
+    public ContractionHierarchy contractionHierarchy() {
+        ContractionHierarchy hierarchy = contractionHierarchy;
+        if (hierarchy == null) {
+            synchronized (this) {
+                hierarchy = contractionHierarchy;
+                if (hierarchy == null) {
+                    hierarchy = ContractionHierarchy.build(graph);
+                    contractionHierarchy = hierarchy;
+                }
+            }
+        }
+        return hierarchy;
+    }
+
+    // Hierarchies loaded from a file are only accepted for the exact arcs and weights they were
+    // contracted from; after any weight change their shortcuts would be wrong.
+    void setContractionHierarchy(ContractionHierarchy contractionHierarchy) {
+        if (contractionHierarchy.vertexCount() != graph.vertexCount() || contractionHierarchy.edgeCount() != graph.edgeCount()
+                || contractionHierarchy.fingerprint() != graph.fingerprint()) {
+            throw new IllegalArgumentException("Hierarchy for " + contractionHierarchy.vertexCount() + " vertices and "
+                    + contractionHierarchy.edgeCount() + " arcs was not built for this graph of " + graph.vertexCount()
+                    + " vertices and " + graph.edgeCount() + " arcs or for its current weights");
+        }
+        this.contractionHierarchy = contractionHierarchy;
+    }
+
+    public LandmarkHeuristic landmarks(int landmarkCount) {
+        LandmarkHeuristic heuristic = landmarks;
+        if (heuristic == null) {
+            synchronized (this) {
+                heuristic = landmarks;
+                if (heuristic == null) {
+                    heuristic = LandmarkHeuristic.build(graph, landmarkCount);
+                    landmarks = heuristic;
+                }
+            }
+        }
+        return heuristic;
+    }
+
+    void setLandmarks(LandmarkHeuristic landmarks) {
+        if (landmarks != null && (landmarks.vertexCount() != graph.vertexCount()
+                || landmarks.edgeCount() != graph.edgeCount() || landmarks.fingerprint() != graph.fingerprint())) {
+            throw new IllegalArgumentException("Landmarks for " + landmarks.vertexCount() + " vertices and "
+                    + landmarks.edgeCount() + " arcs were not built for this graph of " + graph.vertexCount()
+                    + " vertices and " + graph.edgeCount() + " arcs or for its current weights");
+        }
+        this.landmarks = landmarks;
+    }
+
+    public MultiLevelPartition partition() {
+        MultiLevelPartition current = partition;
+        if (current == null) {
+            synchronized (this) {
+                current = partition;
+                if (current == null) {
+                    current = MultiLevelPartition.build(graph);
+                    partition = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    void setPartition(MultiLevelPartition partition) {
+        if (!partition.fits(graph)) {
+            throw new IllegalArgumentException(mismatch(partition));
+        }
+        install(partition);
+    }
+
+    // Set by the finder when this snapshot only changed weights, so the next overlay is a
+    // customization of the previous partition rather than a new one. The arcs are those the
+    // partition was built for, so only their number is checked.
+    void reusePartition(MultiLevelPartition partition) {
+        if (!partition.hasSize(graph)) {
+            throw new IllegalArgumentException(mismatch(partition));
+        }
+        install(partition);
+    }
+
+    private String mismatch(MultiLevelPartition partition) {
+        return "Partition for " + partition.vertexCount() + " vertices and " + partition.edgeCount()
+                + " arcs does not fit the graph of " + graph.vertexCount() + " vertices and " + graph.edgeCount()
+                + " arcs, or misses boundary vertices of its arcs";
+    }
+
+    private void install(MultiLevelPartition partition) {
+        synchronized (this) {
+            this.partition = partition;
+            this.overlay = null;
+        }
+    }
+
+    MultiLevelPartition builtPartition() {
+        return partition;
+    }
+
+    public OverlayGraph overlay() {
+        OverlayGraph current = overlay;
+        if (current == null) {
+            synchronized (this) {
+                current = overlay;
+                if (current == null) {
+                    current = OverlayGraph.customize(partition(), graph, ForkJoinPool.commonPool());
+                    overlay = current;
+                }
+            }
+        }
+        return current;
+    }
+}
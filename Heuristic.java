@@ -0,0 +1,51 @@
+package dsaprojects;
+
+public interface Heuristic {
+    // Integer.MAX_VALUE means the target is provably unreachable from the vertex.
+    int estimate(int vertex, int target);
+
+    static Heuristic zero() {
+        return (vertex, target) -> 0;
+    }
+
+    // The scale must not exceed the cheapest weight per unit of distance on any edge,
+    // otherwise the estimate stops being a lower bound and A* loses its guarantees.
+    static Heuristic euclidean(VertexCoordinates coordinates, double weightPerUnit) {
+        return (vertex, target) -> {
+            if (!coordinates.has(vertex) || !coordinates.has(target)) {
+                return 0;
+            }
+            double dx = coordinates.x(vertex) - coordinates.x(target);
+            double dy = coordinates.y(vertex) - coordinates.y(target);
+            return (int) Math.floor(Math.sqrt(dx * dx + dy * dy) * weightPerUnit);
+        };
+    }
+
+    static Heuristic manhattan(VertexCoordinates coordinates, double weightPerUnit) {
+        return (vertex, target) -> {
+            if (!coordinates.has(vertex) || !coordinates.has(target)) {
+                return 0;
+            }
+            double dx = Math.abs(coordinates.x(vertex) - coordinates.x(target));
+            double dy = Math.abs(coordinates.y(vertex) - coordinates.y(target));
+            return (int) Math.floor((dx + dy) * weightPerUnit);
+        };
+    }
+
+    // Coordinates are read as x = longitude, y = latitude, both in degrees.
+    static Heuristic haversine(VertexCoordinates coordinates, double weightPerMetre) {
+        return (vertex, target) -> {
+            if (!coordinates.has(vertex) || !coordinates.has(target)) {
+                return 0;
+            }
+            double lat1 = Math.toRadians(coordinates.y(vertex));
+            double lat2 = Math.toRadians(coordinates.y(target));
+            double dLat = lat2 - lat1;
+            double dLon = Math.toRadians(coordinates.x(target) - coordinates.x(vertex));
+            double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                    + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+            double metres = 2 * 6_371_000.0 * Math.asin(Math.min(1.0, Math.sqrt(a)));
+            return (int) Math.floor(metres * weightPerMetre);
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package dsaprojects;
+
+import java.util.Arrays;
+
+final class IndexedDaryHeap implements VertexQueue {
+    private final int arity;
+    private int[] heap = new int[0];
+    private int[] keys = new int[0];
+    private int[] positions = new int[0];
+    private int size;
+
+    IndexedDaryHeap(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+    }
+
+    @Override
+    public void ensureCapacity(int vertexCount) {
+        if (positions.length < vertexCount) {
+            int oldLength = positions.length;
+            heap = Arrays.copyOf(heap, vertexCount);
+            keys = Arrays.copyOf(keys, vertexCount);
+            positions = Arrays.copyOf(positions, vertexCount);
+            Arrays.fill(positions, oldLength, vertexCount, -1);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void push(int vertex, int key) {
+        int position = positions[vertex];
+        if (position == -1) {
+            siftUp(size++, vertex, key);
+        } else if (key < keys[position]) {
+            siftUp(position, vertex, key);
+        }
+    }
+
+    @Override
+    public int minKey() {
+        return keys[0];
+    }
+
+    @Override
+    public int poll() {
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            siftDown(0, heap[size], keys[size]);
+        }
+        return min;
+    }
+
+    private void siftUp(int position, int vertex, int key) {
+        while (position > 0) {
+            int parent = (position - 1) / arity;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(heap[parent], keys[parent], position);
+            position = parent;
+        }
+        move(vertex, key, position);
+    }
+
+    private void siftDown(int position, int vertex, int key) {
+        while (true) {
+            int firstChild = position * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + arity, size);
+            int best = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (keys[child] < keys[best]) {
+                    best = child;
+                }
+            }
+            if (keys[best] >= key) {
+                break;
+            }
+            move(heap[best], keys[best], position);
+            position = best;
+        }
+        move(vertex, key, position);
+    }
+
+    private void move(int vertex, int key, int position) {
+        heap[position] = vertex;
+        keys[position] = key;
+        positions[vertex] = position;
+    }
+}
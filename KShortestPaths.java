@@ -0,0 +1,335 @@
+package dsaprojects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Yen's k shortest loopless paths. Three things keep it affordable on large graphs:
+// - One reverse Dijkstra from the target gives exact distances to it in the unmodified graph.
+//   Those are an admissible, consistent A* heuristic for every spur search, since blocking
+//   vertices and arcs only makes paths longer. When the tree path from a spur vertex avoids
+//   everything blocked, it is the spur path and no search runs at all.
+// - Deviations are queued lazily under a lower bound (root cost plus the best unblocked first
+//   arc plus the heuristic) and only searched once that bound reaches the head of the queue.
+// - Deviations that reach the head together are searched in parallel.
+public final class KShortestPaths {
+    private static final ThreadLocal<SpurSearch> SPUR_SEARCHES = ThreadLocal.withInitial(SpurSearch::new);
+
+    private final CsrGraph graph;
+    private final int source;
+    private final int target;
+    private final ForkJoinPool pool;
+    private final int[] toTarget;
+    private final int[] nextHop;
+    private final List<Path> accepted = new ArrayList<>();
+    private final Set<Path> seen = new HashSet<>();
+    private final PriorityQueue<Entry> candidates = new PriorityQueue<>();
+    private long sequence;
+
+    private KShortestPaths(CsrGraph graph, int source, int target, ForkJoinPool pool) {
+        this.graph = graph;
+        this.source = source;
+        this.target = target;
+        this.pool = pool;
+        int vertexCount = graph.vertexCount();
+        QueryWorkspace workspace = new QueryWorkspace();
+        ShortestPathFinder.search(graph.reverse(), target, -1, workspace, workspace.queue(QueueType.FOUR_ARY_HEAP, vertexCount));
+        toTarget = new int[vertexCount];
+        nextHop = new int[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            toTarget[vertex] = workspace.distance(vertex);
+            nextHop[vertex] = workspace.previous(vertex);
+        }
+    }
+
+    public static List<ShortestPathFinder.Route> find(CsrGraph graph, int source, int target, int k, ForkJoinPool pool) {
+        int vertexCount = graph.vertexCount();
+        List<ShortestPathFinder.Route> routes = new ArrayList<>();
+        if (k < 1 || source < 0 || source >= vertexCount || target < 0 || target >= vertexCount) {
+            return routes;
+        }
+        KShortestPaths search = new KShortestPaths(graph, source, target, pool);
+        for (Path path : search.run(k)) {
+            List<Integer> vertices = new ArrayList<>(path.vertices.length);
+            for (int vertex : path.vertices) {
+                vertices.add(vertex);
+            }
+            // Route distances are ints with Integer.MAX_VALUE meaning unreachable, and a later
+            // path can cost more than any single search distance.
+            if (path.cost() >= Integer.MAX_VALUE) {
+                throw new ArithmeticException("Path cost " + path.cost() + " does not fit in a route distance");
+            }
+            routes.add(new ShortestPathFinder.Route(vertices, (int) path.cost()));
+        }
+        return routes;
+    }
+
+    private List<Path> run(int k) {
+        if (toTarget[source] == Integer.MAX_VALUE) {
+            return accepted;
+        }
+        Path first = treePath(source, new int[]{source}, new long[]{0});
+        seen.add(first);
+        candidates.add(new Entry(first.cost(), first, -1, sequence++));
+        while (accepted.size() < k) {
+            resolveLazyHead();
+            Entry next = candidates.poll();
+            if (next == null) {
+                break;
+            }
+            Path path = next.path;
+            accepted.add(path);
+            for (int spur = path.deviation; spur < path.vertices.length - 1; spur++) {
+                long bound = deviationBound(path, spur);
+                if (bound != Long.MAX_VALUE) {
+                    candidates.add(new Entry(bound, path, spur, sequence++));
+                }
+            }
+        }
+        return accepted;
+    }
+
+    // Searches every lazy deviation at the head of the queue until an exact candidate is first.
+    private void resolveLazyHead() {
+        int batchLimit = Math.max(1, pool.getParallelism() * 2);
+        while (!candidates.isEmpty() && candidates.peek().isLazy()) {
+            List<Entry> batch = new ArrayList<>();
+            while (batch.size() < batchLimit && !candidates.isEmpty() && candidates.peek().isLazy()) {
+                batch.add(candidates.poll());
+            }
+            Path[] results = new Path[batch.size()];
+            if (batch.size() == 1) {
+                results[0] = spurPath(batch.get(0).base, batch.get(0).spur);
+            } else {
+                pool.submit(() -> IntStream.range(0, results.length).parallel()
+                        .forEach(i -> results[i] = spurPath(batch.get(i).base, batch.get(i).spur))).join();
+            }
+            for (Path path : results) {
+                if (path != null && seen.add(path)) {
+                    candidates.add(new Entry(path.cost(), path, -1, sequence++));
+                }
+            }
+        }
+    }
+
+    private long deviationBound(Path base, int spur) {
+        int spurVertex = base.vertices[spur];
+        long best = Long.MAX_VALUE;
+        for (int edge = graph.firstEdge(spurVertex), end = graph.endEdge(spurVertex); edge < end; edge++) {
+            int head = graph.target(edge);
+            if (toTarget[head] == Integer.MAX_VALUE || inRoot(base, spur, head) || isBlockedArc(base, spur, head)) {
+                continue;
+            }
+            best = Math.min(best, (long) graph.weight(edge) + toTarget[head]);
+        }
+        return best == Long.MAX_VALUE ? best : base.prefix[spur] + best;
+    }
+
+    private static boolean inRoot(Path base, int spur, int vertex) {
+        for (int i = 0; i < spur; i++) {
+            if (base.vertices[i] == vertex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Yen's rule: the arc leaving the spur vertex along any accepted path with the same root
+    // is excluded, so the spur path is new. The accepted list is only appended to between
+    // batches, so reading it from the parallel spur searches is safe.
+    private boolean isBlockedArc(Path base, int spur, int head) {
+        for (Path path : accepted) {
+            if (path.vertices.length > spur + 1 && path.vertices[spur + 1] == head && sharesRoot(path, base, spur)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean sharesRoot(Path a, Path b, int spur) {
+        if (a.vertices.length <= spur || b.vertices.length <= spur) {
+            return false;
+        }
+        for (int i = 0; i <= spur; i++) {
+            if (a.vertices[i] != b.vertices[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path spurPath(Path base, int spur) {
+        SpurSearch search = SPUR_SEARCHES.get();
+        search.block(base, spur, graph.vertexCount());
+        int spurVertex = base.vertices[spur];
+        int[] root = Arrays.copyOf(base.vertices, spur + 1);
+        long[] rootPrefix = Arrays.copyOf(base.prefix, spur + 1);
+
+        int firstHop = nextHop[spurVertex];
+        if (firstHop != -1 && !isBlockedArc(base, spur, firstHop) && search.treePathIsFree(nextHop, spurVertex, target)) {
+            return treePath(spurVertex, root, rootPrefix);
+        }
+
+        QueryWorkspace workspace = QueryWorkspace.forCurrentThread();
+        VertexQueue queue = workspace.queue(QueueType.FOUR_ARY_HEAP, graph.vertexCount());
+        workspace.reset(graph.vertexCount());
+        workspace.update(spurVertex, 0, -1);
+        queue.push(spurVertex, toTarget[spurVertex]);
+        while (!queue.isEmpty()) {
+            int key = queue.minKey();
+            int vertex = queue.poll();
+            if (vertex == target) {
+                break;
+            }
+            int vertexDistance = workspace.distance(vertex);
+            if (key - toTarget[vertex] > vertexDistance) {
+                continue;
+            }
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                int head = graph.target(edge);
+                if (toTarget[head] == Integer.MAX_VALUE || search.isBlocked(head)
+                        || (vertex == spurVertex && isBlockedArc(base, spur, head))) {
+                    continue;
+                }
+                int newDistance = vertexDistance + graph.weight(edge);
+                if (newDistance < workspace.distance(head)) {
+                    workspace.update(head, newDistance, vertex);
+                    queue.push(head, newDistance + toTarget[head]);
+                }
+            }
+        }
+        if (!workspace.isReached(target)) {
+            return null;
+        }
+
+        IntList reversed = new IntList();
+        for (int vertex = target; vertex != spurVertex; vertex = workspace.previous(vertex)) {
+            reversed.add(vertex);
+        }
+        int[] vertices = Arrays.copyOf(root, root.length + reversed.size());
+        long[] prefix = Arrays.copyOf(rootPrefix, vertices.length);
+        for (int i = root.length; i < vertices.length; i++) {
+            vertices[i] = reversed.get(vertices.length - 1 - i);
+            prefix[i] = prefix[i - 1] + arcWeight(vertices[i - 1], vertices[i]);
+        }
+        return new Path(vertices, prefix, spur);
+    }
+
+    private Path treePath(int from, int[] root, long[] rootPrefix) {
+        IntList tail = new IntList();
+        for (int vertex = nextHop[from]; vertex != -1; vertex = nextHop[vertex]) {
+            tail.add(vertex);
+        }
+        int[] vertices = Arrays.copyOf(root, root.length + tail.size());
+        long[] prefix = Arrays.copyOf(rootPrefix, vertices.length);
+        for (int i = root.length; i < vertices.length; i++) {
+            vertices[i] = tail.get(i - root.length);
+            prefix[i] = prefix[i - 1] + arcWeight(vertices[i - 1], vertices[i]);
+        }
+        return new Path(vertices, prefix, root.length - 1);
+    }
+
+    private int arcWeight(int from, int to) {
+        int best = Integer.MAX_VALUE;
+        for (int edge = graph.firstEdge(from), end = graph.endEdge(from); edge < end; edge++) {
+            if (graph.target(edge) == to) {
+                best = Math.min(best, graph.weight(edge));
+            }
+        }
+        return best;
+    }
+
+    private static final class SpurSearch {
+        private int[] marks = new int[0];
+        private int stamp;
+
+        void block(Path base, int spur, int vertexCount) {
+            if (marks.length < vertexCount) {
+                marks = new int[vertexCount];
+                stamp = 0;
+            }
+            stamp++;
+            for (int i = 0; i < spur; i++) {
+                marks[base.vertices[i]] = stamp;
+            }
+        }
+
+        boolean isBlocked(int vertex) {
+            return marks[vertex] == stamp;
+        }
+
+        boolean treePathIsFree(int[] nextHop, int from, int target) {
+            for (int vertex = from; vertex != target; vertex = nextHop[vertex]) {
+                if (isBlocked(vertex)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // deviation is the first index whose outgoing arc differs from the parent path; Yen only
+    // needs to spur from there on, since earlier roots were already explored for the parent.
+    private static final class Path {
+        private final int[] vertices;
+        private final long[] prefix;
+        private final int deviation;
+
+        Path(int[] vertices, long[] prefix, int deviation) {
+            this.vertices = vertices;
+            this.prefix = prefix;
+            this.deviation = deviation;
+        }
+
+        long cost() {
+            return prefix[prefix.length - 1];
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Path && Arrays.equals(vertices, ((Path) other).vertices);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(vertices);
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final long key;
+        private final Path base;
+        private final Path path;
+        private final int spur;
+        private final long order;
+
+        Entry(long key, Path path, int spur, long order) {
+            this.key = key;
+            this.base = spur == -1 ? null : path;
+            this.path = spur == -1 ? path : null;
+            this.spur = spur;
+            this.order = order;
+        }
+
+        boolean isLazy() {
+            return path == null;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byKey = Long.compare(key, other.key);
+            if (byKey != 0) {
+                return byKey;
+            }
+            if (isLazy() != other.isLazy()) {
+                return isLazy() ? 1 : -1;
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
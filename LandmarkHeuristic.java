@@ -0,0 +1,184 @@
+package dsaprojects;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public final class LandmarkHeuristic implements Heuristic {
+    private static final int MAGIC = 0x414c5433;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int vertexCount;
+    private final int edgeCount;
+    private final long fingerprint;
+    private final int[] landmarks;
+    private final int[] fromLandmark;
+    private final int[] toLandmark;
+
+    private LandmarkHeuristic(int vertexCount, int edgeCount, long fingerprint, int[] landmarks, int[] fromLandmark,
+                              int[] toLandmark) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.fingerprint = fingerprint;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    public static LandmarkHeuristic build(CsrGraph graph, int landmarkCount) {
+        int vertexCount = graph.vertexCount();
+        int edgeCount = graph.edgeCount();
+        long fingerprint = graph.fingerprint();
+        int count = Math.min(landmarkCount, vertexCount);
+        int[] landmarks = new int[count];
+        int[] fromLandmark = new int[Math.multiplyExact(vertexCount, count)];
+        int[] toLandmark = new int[vertexCount * count];
+        int[] nearest = new int[vertexCount];
+        Arrays.fill(nearest, UNREACHABLE);
+
+        QueryWorkspace workspace = new QueryWorkspace();
+        CsrGraph reverse = graph.reverse();
+        int next = 0;
+        while (next < vertexCount && isIsolated(graph, reverse, next)) {
+            next++;
+        }
+        if (next == vertexCount) {
+            return new LandmarkHeuristic(vertexCount, edgeCount, fingerprint, new int[0], new int[0], new int[0]);
+        }
+        for (int i = 0; i < count; i++) {
+            int landmark = next;
+            landmarks[i] = landmark;
+
+            ShortestPathFinder.search(graph, landmark, -1, workspace, workspace.queue(QueueType.FOUR_ARY_HEAP, vertexCount));
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                fromLandmark[vertex * count + i] = workspace.distance(vertex);
+            }
+            ShortestPathFinder.search(reverse, landmark, -1, workspace, workspace.queue(QueueType.FOUR_ARY_HEAP, vertexCount));
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                toLandmark[vertex * count + i] = workspace.distance(vertex);
+            }
+
+            // Farthest selection: the next landmark is the vertex worst covered by the ones
+            // chosen so far; vertices no landmark reaches yet win outright.
+            int farthest = -1;
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                int distance = Math.min(fromLandmark[vertex * count + i], toLandmark[vertex * count + i]);
+                nearest[vertex] = Math.min(nearest[vertex], distance);
+                if (nearest[vertex] != 0 && (farthest == -1 || nearest[vertex] > nearest[farthest])
+                        && !isIsolated(graph, reverse, vertex)) {
+                    farthest = vertex;
+                }
+            }
+            if (farthest == -1) {
+                return new LandmarkHeuristic(vertexCount, edgeCount, fingerprint, Arrays.copyOf(landmarks, i + 1),
+                        truncate(fromLandmark, vertexCount, count, i + 1), truncate(toLandmark, vertexCount, count, i + 1));
+            }
+            next = farthest;
+        }
+        return new LandmarkHeuristic(vertexCount, edgeCount, fingerprint, landmarks, fromLandmark, toLandmark);
+    }
+
+    private static boolean isIsolated(CsrGraph graph, CsrGraph reverse, int vertex) {
+        return graph.firstEdge(vertex) == graph.endEdge(vertex) && reverse.firstEdge(vertex) == reverse.endEdge(vertex);
+    }
+
+    private static int[] truncate(int[] table, int vertexCount, int oldCount, int newCount) {
+        int[] result = new int[vertexCount * newCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            System.arraycopy(table, vertex * oldCount, result, vertex * newCount, newCount);
+        }
+        return result;
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    // Landmark distances are only lower bounds for the weights they were computed with.
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public int landmarkCount() {
+        return landmarks.length;
+    }
+
+    public int landmark(int index) {
+        return landmarks[index];
+    }
+
+    // A vertex reachable from a landmark that cannot reach the target, or one that cannot reach
+    // a landmark the target can, has no path to the target at all; reporting that keeps the
+    // bound consistent on such dead ends instead of silently dropping the landmark.
+    @Override
+    public int estimate(int vertex, int target) {
+        int count = landmarks.length;
+        int vertexBase = vertex * count;
+        int targetBase = target * count;
+        int best = 0;
+        for (int i = 0; i < count; i++) {
+            int fromToTarget = fromLandmark[targetBase + i];
+            int fromToVertex = fromLandmark[vertexBase + i];
+            if (fromToVertex != UNREACHABLE) {
+                if (fromToTarget == UNREACHABLE) {
+                    return UNREACHABLE;
+                }
+                best = Math.max(best, fromToTarget - fromToVertex);
+            }
+            int vertexToLandmark = toLandmark[vertexBase + i];
+            int targetToLandmark = toLandmark[targetBase + i];
+            if (targetToLandmark != UNREACHABLE) {
+                if (vertexToLandmark == UNREACHABLE) {
+                    return UNREACHABLE;
+                }
+                best = Math.max(best, vertexToLandmark - targetToLandmark);
+            }
+        }
+        return best;
+    }
+
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(vertexCount);
+            out.writeInt(edgeCount);
+            out.writeLong(fingerprint);
+            BinaryFiles.writeArray(out, landmarks);
+            BinaryFiles.writeArray(out, fromLandmark);
+            BinaryFiles.writeArray(out, toLandmark);
+        }
+    }
+
+    public static LandmarkHeuristic read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a landmark file: " + file);
+            }
+            int vertexCount = in.readInt();
+            int edgeCount = in.readInt();
+            long fingerprint = in.readLong();
+            int[] landmarks = BinaryFiles.readArray(in);
+            int[] fromLandmark = BinaryFiles.readArray(in);
+            int[] toLandmark = BinaryFiles.readArray(in);
+            long tableLength = (long) vertexCount * landmarks.length;
+            if (vertexCount < 0 || edgeCount < 0 || fromLandmark.length != tableLength || toLandmark.length != tableLength) {
+                throw new IOException("Corrupt landmark file: " + file);
+            }
+            for (int landmark : landmarks) {
+                if (landmark < 0 || landmark >= vertexCount) {
+                    throw new IOException("Corrupt landmark file: " + file);
+                }
+            }
+            return new LandmarkHeuristic(vertexCount, edgeCount, fingerprint, landmarks, fromLandmark, toLandmark);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package dsaprojects;
+
+import java.util.Arrays;
+
+// Nested vertex partition for the overlay engine. Level 0 has the smallest cells and every
+// cell of level l lies inside a single cell of level l + 1. Cells come from recursive
+// bisection: each range is split in half along a breadth-first order grown from a
+// pseudo-peripheral vertex, which keeps cells compact on road-like graphs without any
+// geometry. A range becomes a cell of every level whose size limit it fits.
+//
+// The partition only depends on the arc structure, so it survives weight changes; the
+// boundary vertices of each cell, which the overlay builds its matrices over, are kept
+// here as well.
+public final class MultiLevelPartition {
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int[] cellSizes;
+    private final int[][] cells;
+    private final int[] cellCounts;
+    private final int[][] boundaryStart;
+    private final int[][] boundary;
+    private final int[][] boundaryIndex;
+
+    private MultiLevelPartition(CsrGraph graph, int[] cellSizes, int[][] cells, int[] cellCounts) {
+        this.vertexCount = graph.vertexCount();
+        this.edgeCount = graph.edgeCount();
+        this.cellSizes = cellSizes;
+        this.cells = cells;
+        this.cellCounts = cellCounts;
+        int levelCount = cellSizes.length;
+        boundaryStart = new int[levelCount][];
+        boundary = new int[levelCount][];
+        boundaryIndex = new int[levelCount][];
+        CsrGraph reverse = graph.reverse();
+        for (int level = 0; level < levelCount; level++) {
+            findBoundary(graph, reverse, level);
+        }
+    }
+
+    public static MultiLevelPartition build(CsrGraph graph) {
+        return build(graph, defaultCellSizes(graph.vertexCount()));
+    }
+
+    // cellSizes are the maximum cell sizes per level, strictly increasing.
+    public static MultiLevelPartition build(CsrGraph graph, int... cellSizes) {
+        for (int level = 0; level < cellSizes.length; level++) {
+            if (cellSizes[level] < 1 || (level > 0 && cellSizes[level] <= cellSizes[level - 1])) {
+                throw new IllegalArgumentException("Cell sizes must be positive and strictly increasing: "
+                        + Arrays.toString(cellSizes));
+            }
+        }
+        int vertexCount = graph.vertexCount();
+        int levelCount = cellSizes.length;
+        int[][] cells = new int[levelCount][vertexCount];
+        int[] cellCounts = new int[levelCount];
+        if (levelCount > 0) {
+            new Bisection(graph, cellSizes, cells, cellCounts).split(0, vertexCount, levelCount);
+        }
+        return new MultiLevelPartition(graph, cellSizes.clone(), cells, cellCounts);
+    }
+
+    // Cells of 2^7 vertices at the bottom and a factor of 2^4 per level above, for as long as
+    // a level still has several cells.
+    static int[] defaultCellSizes(int vertexCount) {
+        IntList sizes = new IntList();
+        for (long size = 1 << 7; size * 4 <= vertexCount && size <= 1 << 27; size <<= 4) {
+            sizes.add((int) size);
+        }
+        return sizes.toArray();
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public int levelCount() {
+        return cellSizes.length;
+    }
+
+    public int maxCellSize(int level) {
+        return cellSizes[level];
+    }
+
+    public int cellCount(int level) {
+        return cellCounts[level];
+    }
+
+    public int cell(int level, int vertex) {
+        return cells[level][vertex];
+    }
+
+    public int boundarySize(int level, int cell) {
+        return boundaryStart[level][cell + 1] - boundaryStart[level][cell];
+    }
+
+    public int boundaryVertexCount(int level) {
+        return boundary[level].length;
+    }
+
+    int boundaryStart(int level, int cell) {
+        return boundaryStart[level][cell];
+    }
+
+    int boundaryVertex(int level, int position) {
+        return boundary[level][position];
+    }
+
+    // Position of the vertex among the boundary vertices of its cell, or -1 if it has no arc
+    // leaving or entering the cell.
+    int boundaryIndex(int level, int vertex) {
+        return boundaryIndex[level][vertex];
+    }
+
+    // True if the graph has as many vertices and arcs as the one this partition was built
+    // for. Weight-only copies share its arc structure, so that is all they need.
+    boolean hasSize(CsrGraph graph) {
+        return graph.vertexCount() == vertexCount && graph.edgeCount() == edgeCount;
+    }
+
+    // True if the overlay can be customized for the graph with this partition: besides the
+    // size, every arc between two cells of a level must join boundary vertices of that level.
+    // Weights play no part, so one partition serves every customization of an arc structure.
+    boolean fits(CsrGraph graph) {
+        if (!hasSize(graph)) {
+            return false;
+        }
+        for (int level = 0; level < cells.length; level++) {
+            int[] cell = cells[level];
+            int[] index = boundaryIndex[level];
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                    int target = graph.target(edge);
+                    if (cell[target] != cell[vertex] && (index[vertex] == -1 || index[target] == -1)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void findBoundary(CsrGraph graph, CsrGraph reverse, int level) {
+        int[] cell = cells[level];
+        int cellCount = cellCounts[level];
+        int[] index = new int[vertexCount];
+        int[] start = new int[cellCount + 1];
+        Arrays.fill(index, -1);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            if (crossesCell(graph, cell, vertex) || crossesCell(reverse, cell, vertex)) {
+                index[vertex] = start[cell[vertex] + 1]++;
+            }
+        }
+        for (int c = 0; c < cellCount; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] vertices = new int[start[cellCount]];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            if (index[vertex] != -1) {
+                vertices[start[cell[vertex]] + index[vertex]] = vertex;
+            }
+        }
+        boundaryStart[level] = start;
+        boundary[level] = vertices;
+        boundaryIndex[level] = index;
+    }
+
+    private static boolean crossesCell(CsrGraph graph, int[] cell, int vertex) {
+        for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+            if (cell[graph.target(edge)] != cell[vertex]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Bisection {
+        private final CsrGraph graph;
+        private final CsrGraph reverse;
+        private final int[] cellSizes;
+        private final int[][] cells;
+        private final int[] cellCounts;
+        private final int[] order;
+        private final int[] queue;
+        private final int[] marks;
+        private int stamp;
+
+        Bisection(CsrGraph graph, int[] cellSizes, int[][] cells, int[] cellCounts) {
+            this.graph = graph;
+            this.reverse = graph.reverse();
+            this.cellSizes = cellSizes;
+            this.cells = cells;
+            this.cellCounts = cellCounts;
+            int vertexCount = graph.vertexCount();
+            order = new int[vertexCount];
+            queue = new int[vertexCount];
+            marks = new int[vertexCount];
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                order[vertex] = vertex;
+            }
+        }
+
+        // Levels at or above openLevels are already assigned for this range.
+        void split(int from, int to, int openLevels) {
+            while (openLevels > 0 && to - from <= cellSizes[openLevels - 1]) {
+                openLevels--;
+                int cell = cellCounts[openLevels]++;
+                for (int i = from; i < to; i++) {
+                    cells[openLevels][order[i]] = cell;
+                }
+            }
+            if (openLevels == 0) {
+                return;
+            }
+            int middle = from + (to - from) / 2;
+            breadthFirst(from, to, breadthFirst(from, to, order[from]));
+            System.arraycopy(queue, 0, order, from, to - from);
+            split(from, middle, openLevels);
+            split(middle, to, openLevels);
+        }
+
+        // Breadth-first search over the range, ignoring arc directions and restarting in
+        // unreached components. Leaves the visit order in queue and returns the last vertex.
+        private int breadthFirst(int from, int to, int start) {
+            int inRange = ++stamp;
+            for (int i = from; i < to; i++) {
+                marks[order[i]] = inRange;
+            }
+            int visited = ++stamp;
+            int head = 0;
+            int tail = 0;
+            int next = from;
+            int root = start;
+            while (tail < to - from) {
+                if (head == tail) {
+                    while (marks[root] != inRange) {
+                        root = order[next++];
+                    }
+                    marks[root] = visited;
+                    queue[tail++] = root;
+                }
+                int vertex = queue[head++];
+                tail = visitNeighbours(graph, vertex, inRange, visited, tail);
+                tail = visitNeighbours(reverse, vertex, inRange, visited, tail);
+            }
+            return queue[tail - 1];
+        }
+
+        private int visitNeighbours(CsrGraph graph, int vertex, int inRange, int visited, int tail) {
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                int target = graph.target(edge);
+                if (marks[target] == inRange) {
+                    marks[target] = visited;
+                    queue[tail++] = target;
+                }
+            }
+            return tail;
+        }
+    }
+}
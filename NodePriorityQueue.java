@@ -0,0 +1,55 @@
+package dsaprojects;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+final class NodePriorityQueue implements VertexQueue {
+    private final PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparingInt(Node::getDistance));
+
+    @Override
+    public void ensureCapacity(int vertexCount) {
+    }
+
+    @Override
+    public void clear() {
+        queue.clear();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public void push(int vertex, int key) {
+        queue.offer(new Node(vertex, key));
+    }
+
+    @Override
+    public int minKey() {
+        return queue.peek().getDistance();
+    }
+
+    @Override
+    public int poll() {
+        return queue.poll().getVertex();
+    }
+
+    private static class Node {
+        private int vertex;
+        private int distance;
+
+        public Node(int vertex, int distance) {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+
+        public int getVertex() {
+            return vertex;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+}
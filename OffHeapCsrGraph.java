@@ -0,0 +1,172 @@
+package dsaprojects;
+
+final class OffHeapCsrGraph extends CsrGraph {
+    private final OffHeapIntArray offsets;
+    private OffHeapIntArray targets;
+    private final OffHeapIntArray weights;
+    private OffHeapIntArray ends;
+    private int removed;
+
+    OffHeapCsrGraph(OffHeapIntArray offsets, OffHeapIntArray targets, OffHeapIntArray weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    static OffHeapCsrGraph copyOf(CsrGraph graph) {
+        int vertexCount = graph.vertexCount();
+        int edgeCount = graph.edgeCount();
+        OffHeapIntArray offsets = OffHeapIntArray.allocate(vertexCount + 1L);
+        OffHeapIntArray targets = OffHeapIntArray.allocate(edgeCount);
+        OffHeapIntArray weights = OffHeapIntArray.allocate(edgeCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            offsets.set(vertex, graph.firstEdge(vertex));
+        }
+        offsets.set(vertexCount, edgeCount);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            targets.set(edge, graph.target(edge));
+            weights.set(edge, graph.weight(edge));
+        }
+        return new OffHeapCsrGraph(offsets, targets, weights);
+    }
+
+    @Override
+    public int vertexCount() {
+        return (int) offsets.length() - 1;
+    }
+
+    @Override
+    public int edgeCount() {
+        return offsets.get(vertexCount()) - removed;
+    }
+
+    @Override
+    public int firstEdge(int vertex) {
+        return offsets.get(vertex);
+    }
+
+    @Override
+    public int endEdge(int vertex) {
+        return ends == null ? offsets.get(vertex + 1) : ends.get(vertex);
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    @Override
+    public int weight(int edge) {
+        return weights.get(edge);
+    }
+
+    @Override
+    public CsrGraph toOffHeap() {
+        return this;
+    }
+
+    @Override
+    boolean isOffHeap() {
+        return true;
+    }
+
+    @Override
+    void setWeight(int edge, int weight) {
+        weights.set(edge, weight);
+    }
+
+    // Mapped arrays are read-only, so copies always get fresh direct memory for the weights
+    // while sharing the offsets and, until an arc is removed, the targets.
+    @Override
+    CsrGraph copyForUpdates() {
+        OffHeapCsrGraph copy = withCopiedWeights();
+        CsrGraph transposed = cachedReverse();
+        if (transposed instanceof OffHeapCsrGraph) {
+            CsrGraph reverseCopy = ((OffHeapCsrGraph) transposed).withCopiedWeights();
+            reverseCopy.linkReverse(copy);
+        }
+        return copy;
+    }
+
+    private OffHeapCsrGraph withCopiedWeights() {
+        return new OffHeapCsrGraph(offsets, targets, copy(weights));
+    }
+
+    private static OffHeapIntArray copy(OffHeapIntArray values) {
+        OffHeapIntArray copied = OffHeapIntArray.allocate(values.length());
+        for (long i = 0; i < values.length(); i++) {
+            copied.set(i, values.get(i));
+        }
+        return copied;
+    }
+
+    @Override
+    void removeArc(int vertex, int edge) {
+        if (ends == null) {
+            targets = copy(targets);
+            int vertexCount = vertexCount();
+            ends = OffHeapIntArray.allocate(vertexCount);
+            for (int v = 0; v < vertexCount; v++) {
+                ends.set(v, offsets.get(v + 1));
+            }
+        }
+        int last = ends.get(vertex) - 1;
+        ends.set(vertex, last);
+        targets.set(edge, targets.get(last));
+        weights.set(edge, weights.get(last));
+        removed++;
+    }
+
+    @Override
+    CsrGraph compactArcs() {
+        if (ends == null) {
+            return this;
+        }
+        int vertexCount = vertexCount();
+        OffHeapIntArray compactOffsets = OffHeapIntArray.allocate(vertexCount + 1L);
+        int slot = 0;
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            compactOffsets.set(vertex, slot);
+            for (int edge = firstEdge(vertex), end = endEdge(vertex); edge < end; edge++, slot++) {
+                targets.set(slot, targets.get(edge));
+                weights.set(slot, weights.get(edge));
+            }
+        }
+        compactOffsets.set(vertexCount, slot);
+        return new OffHeapCsrGraph(compactOffsets, targets, weights);
+    }
+
+    // Transposes straight into off-heap storage; the default goes through a heap builder,
+    // which would put a second copy of every arc on the heap.
+    @Override
+    CsrGraph transpose() {
+        int vertexCount = vertexCount();
+        int edgeCount = edgeCount();
+        OffHeapIntArray reverseOffsets = OffHeapIntArray.allocate(vertexCount + 1L);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            for (int edge = firstEdge(vertex), end = endEdge(vertex); edge < end; edge++) {
+                int slot = targets.get(edge) + 1;
+                reverseOffsets.set(slot, reverseOffsets.get(slot) + 1);
+            }
+        }
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            reverseOffsets.set(vertex + 1, reverseOffsets.get(vertex + 1) + reverseOffsets.get(vertex));
+        }
+        OffHeapIntArray cursor = OffHeapIntArray.allocate(vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            cursor.set(vertex, reverseOffsets.get(vertex));
+        }
+        OffHeapIntArray reverseTargets = OffHeapIntArray.allocate(edgeCount);
+        OffHeapIntArray reverseWeights = OffHeapIntArray.allocate(edgeCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            for (int edge = firstEdge(vertex), end = endEdge(vertex); edge < end; edge++) {
+                int head = targets.get(edge);
+                int slot = cursor.get(head);
+                cursor.set(head, slot + 1);
+                reverseTargets.set(slot, vertex);
+                reverseWeights.set(slot, weights.get(edge));
+            }
+        }
+        return new OffHeapCsrGraph(reverseOffsets, reverseTargets, reverseWeights);
+    }
+}
@@ -0,0 +1,64 @@
+package dsaprojects;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+// An int array outside the Java heap, split into chunks because a single ByteBuffer cannot
+// exceed 2 GiB. Chunks are either direct buffers or read-only mappings of a file region; both
+// are released by the collector once the array is unreachable, and neither is ever scanned or
+// copied by it, which keeps very large graphs out of GC pauses.
+final class OffHeapIntArray {
+    private static final int CHUNK_SHIFT = 28;
+    private static final int CHUNK_INTS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_INTS - 1;
+
+    private final IntBuffer[] chunks;
+    private final long length;
+
+    private OffHeapIntArray(IntBuffer[] chunks, long length) {
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    static OffHeapIntArray allocate(long length) {
+        IntBuffer[] chunks = new IntBuffer[chunkCount(length)];
+        for (int i = 0; i < chunks.length; i++) {
+            int ints = chunkLength(length, i);
+            chunks[i] = ByteBuffer.allocateDirect(4 * ints).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        return new OffHeapIntArray(chunks, length);
+    }
+
+    static OffHeapIntArray map(FileChannel channel, long position, long length, ByteOrder order) throws IOException {
+        IntBuffer[] chunks = new IntBuffer[chunkCount(length)];
+        for (int i = 0; i < chunks.length; i++) {
+            int ints = chunkLength(length, i);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * CHUNK_INTS * i, 4L * ints)
+                    .order(order).asIntBuffer();
+        }
+        return new OffHeapIntArray(chunks, length);
+    }
+
+    private static int chunkCount(long length) {
+        return (int) ((length + CHUNK_INTS - 1) >>> CHUNK_SHIFT);
+    }
+
+    private static int chunkLength(long length, int chunk) {
+        return (int) Math.min(CHUNK_INTS, length - ((long) chunk << CHUNK_SHIFT));
+    }
+
+    long length() {
+        return length;
+    }
+
+    int get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    void set(long index, int value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+    }
+}
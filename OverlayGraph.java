@@ -0,0 +1,338 @@
+package dsaprojects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Customizable route planning over a MultiLevelPartition. Each cell stores a matrix with the
+// distance between every pair of its boundary vertices, staying inside the cell. These
+// matrices are the only metric-dependent part: customization rebuilds them bottom-up, one
+// level at a time and all cells of a level in parallel, with level l searching the overlay
+// of level l - 1 instead of the graph itself.
+//
+// A query is a bidirectional Dijkstra in which every vertex is scanned at its query level:
+// the highest level on which it is in neither the source's nor the destination's cell.
+// There a vertex only relaxes its cell's matrix row and the arcs leaving that cell, so the
+// search skips every cell it does not start or end in.
+public final class OverlayGraph {
+    private static final ThreadLocal<QueryWorkspace> CUSTOMIZATION_WORKSPACES = ThreadLocal.withInitial(QueryWorkspace::new);
+
+    private final MultiLevelPartition partition;
+    private final CsrGraph graph;
+    private final CsrGraph reverse;
+    private final int[][] matrixStart;
+    private final int[][] matrices;
+
+    private OverlayGraph(MultiLevelPartition partition, CsrGraph graph) {
+        this.partition = partition;
+        this.graph = graph;
+        this.reverse = graph.reverse();
+        int levelCount = partition.levelCount();
+        matrixStart = new int[levelCount][];
+        matrices = new int[levelCount][];
+        for (int level = 0; level < levelCount; level++) {
+            int cellCount = partition.cellCount(level);
+            int[] start = new int[cellCount + 1];
+            for (int cell = 0; cell < cellCount; cell++) {
+                long size = partition.boundarySize(level, cell);
+                long next = start[cell] + size * size;
+                if (next > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("Boundary matrices of level " + level
+                            + " exceed the array limit; use smaller cells");
+                }
+                start[cell + 1] = (int) next;
+            }
+            matrixStart[level] = start;
+            matrices[level] = new int[start[cellCount]];
+        }
+    }
+
+    // The full boundary check runs once, when the partition is installed in a snapshot;
+    // customization only rules out a partition of the wrong size.
+    public static OverlayGraph customize(MultiLevelPartition partition, CsrGraph graph, ForkJoinPool pool) {
+        if (!partition.hasSize(graph)) {
+            throw new IllegalArgumentException("Partition does not fit the graph of " + graph.vertexCount()
+                    + " vertices and " + graph.edgeCount() + " arcs");
+        }
+        OverlayGraph overlay = new OverlayGraph(partition, graph);
+        for (int level = 0; level < partition.levelCount(); level++) {
+            int current = level;
+            pool.submit(() -> IntStream.range(0, partition.cellCount(current)).parallel()
+                    .forEach(cell -> overlay.customizeCell(current, cell))).join();
+        }
+        return overlay;
+    }
+
+    public MultiLevelPartition partition() {
+        return partition;
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    private void customizeCell(int level, int cell) {
+        QueryWorkspace workspace = CUSTOMIZATION_WORKSPACES.get();
+        int size = partition.boundarySize(level, cell);
+        int first = partition.boundaryStart(level, cell);
+        int row = matrixStart[level][cell];
+        for (int i = 0; i < size; i++) {
+            cellSearch(level, cell, partition.boundaryVertex(level, first + i), -1, workspace);
+            for (int j = 0; j < size; j++) {
+                matrices[level][row + j] = workspace.distance(partition.boundaryVertex(level, first + j));
+            }
+            row += size;
+        }
+    }
+
+    // Dijkstra confined to one cell of the given level, over the overlay of the level below
+    // it (the graph itself below level 0). Stops at target unless that is -1.
+    private void cellSearch(int level, int cell, int source, int target, QueryWorkspace workspace) {
+        int vertexCount = graph.vertexCount();
+        VertexQueue queue = workspace.queue(QueueType.FOUR_ARY_HEAP, vertexCount);
+        workspace.reset(vertexCount);
+        workspace.update(source, 0, -1);
+        queue.push(source, 0);
+        int lower = level - 1;
+        while (!queue.isEmpty()) {
+            int key = queue.minKey();
+            int vertex = queue.poll();
+            if (vertex == target) {
+                break;
+            }
+            int vertexDistance = workspace.distance(vertex);
+            if (key > vertexDistance) {
+                continue;
+            }
+            if (lower >= 0) {
+                int lowerCell = partition.cell(lower, vertex);
+                int size = partition.boundarySize(lower, lowerCell);
+                int first = partition.boundaryStart(lower, lowerCell);
+                int row = matrixStart[lower][lowerCell] + partition.boundaryIndex(lower, vertex) * size;
+                for (int j = 0; j < size; j++) {
+                    int weight = matrices[lower][row + j];
+                    if (weight != Integer.MAX_VALUE) {
+                        relax(workspace, queue, vertex, partition.boundaryVertex(lower, first + j), vertexDistance + weight);
+                    }
+                }
+            }
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                int head = graph.target(edge);
+                if (partition.cell(level, head) == cell && (lower < 0 || partition.cell(lower, head) != partition.cell(lower, vertex))) {
+                    relax(workspace, queue, vertex, head, vertexDistance + graph.weight(edge));
+                }
+            }
+        }
+    }
+
+    private static void relax(QueryWorkspace workspace, VertexQueue queue, int vertex, int head, int newDistance) {
+        if (newDistance < workspace.distance(head)) {
+            workspace.update(head, newDistance, vertex);
+            queue.push(head, newDistance);
+        }
+    }
+
+    public int distance(int source, int destination, QueryWorkspace workspace) {
+        QueryWorkspace backward = workspace.backward();
+        int meeting = search(source, destination, workspace, backward);
+        return meeting == -1 ? Integer.MAX_VALUE : workspace.distance(meeting) + backward.distance(meeting);
+    }
+
+    public List<Integer> findShortestPath(int source, int destination, QueryWorkspace workspace) {
+        int meeting = search(source, destination, workspace, workspace.backward());
+        List<Integer> path = new ArrayList<>();
+        if (meeting != -1) {
+            appendPath(path, meeting, workspace);
+        }
+        return path;
+    }
+
+    int search(int source, int destination, QueryWorkspace forward, QueryWorkspace backward) {
+        int vertexCount = graph.vertexCount();
+        VertexQueue forwardQueue = forward.queue(QueueType.FOUR_ARY_HEAP, vertexCount);
+        VertexQueue backwardQueue = backward.queue(QueueType.FOUR_ARY_HEAP, vertexCount);
+        forward.reset(vertexCount);
+        backward.reset(vertexCount);
+        forward.update(source, 0, -1);
+        backward.update(destination, 0, -1);
+        if (source == destination) {
+            return source;
+        }
+        forwardQueue.push(source, 0);
+        backwardQueue.push(destination, 0);
+        SearchStats stats = forward.stats();
+        if (SearchStats.ENABLED) {
+            stats.pushes += 2;
+        }
+
+        Query query = new Query(source, destination, stats);
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            int forwardKey = forwardQueue.minKey();
+            int backwardKey = backwardQueue.minKey();
+            if ((long) forwardKey + backwardKey >= query.best) {
+                break;
+            }
+            if (forwardKey <= backwardKey) {
+                query.step(true, forwardQueue, forward, backward);
+            } else {
+                query.step(false, backwardQueue, backward, forward);
+            }
+        }
+        return query.meeting;
+    }
+
+    private int queryLevel(int vertex, int source, int destination) {
+        for (int level = partition.levelCount() - 1; level >= 0; level--) {
+            int cell = partition.cell(level, vertex);
+            if (cell != partition.cell(level, source) && cell != partition.cell(level, destination)) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    // Expands the overlay path through the meeting vertex into graph vertices. Consecutive
+    // overlay vertices are joined either by an arc of the graph or by a matrix entry of the
+    // cell they share on the tail's query level; the latter is unpacked by searching inside
+    // that cell, recursively down to level 0. The workspace is free for this once the
+    // overlay path has been read out of it.
+    void appendPath(List<Integer> path, int meeting, QueryWorkspace workspace) {
+        QueryWorkspace backward = workspace.backward();
+        IntList vertices = new IntList();
+        IntList distances = new IntList();
+        IntList reversed = new IntList();
+        for (int vertex = meeting; vertex != -1; vertex = workspace.previous(vertex)) {
+            reversed.add(vertex);
+        }
+        int source = reversed.get(reversed.size() - 1);
+        for (int i = reversed.size() - 1; i >= 0; i--) {
+            vertices.add(reversed.get(i));
+            distances.add(workspace.distance(reversed.get(i)));
+        }
+        int meetingDistance = workspace.distance(meeting);
+        for (int vertex = backward.previous(meeting); vertex != -1; vertex = backward.previous(vertex)) {
+            vertices.add(vertex);
+            distances.add(meetingDistance + backward.distance(meeting) - backward.distance(vertex));
+        }
+        int destination = vertices.get(vertices.size() - 1);
+
+        path.add(source);
+        for (int i = 0; i + 1 < vertices.size(); i++) {
+            int from = vertices.get(i);
+            int to = vertices.get(i + 1);
+            int length = distances.get(i + 1) - distances.get(i);
+            if (hasArc(from, to, length)) {
+                path.add(to);
+            } else {
+                int level = queryLevel(from, source, destination);
+                unpack(level, partition.cell(level, from), from, to, path, workspace);
+            }
+        }
+    }
+
+    private void unpack(int level, int cell, int from, int to, List<Integer> path, QueryWorkspace workspace) {
+        cellSearch(level, cell, from, to, workspace);
+        IntList reversed = new IntList();
+        for (int vertex = to; vertex != -1; vertex = workspace.previous(vertex)) {
+            reversed.add(vertex);
+            reversed.add(workspace.distance(vertex));
+        }
+        int lower = level - 1;
+        for (int i = reversed.size() - 2; i >= 2; i -= 2) {
+            int tail = reversed.get(i);
+            int head = reversed.get(i - 2);
+            if (lower < 0 || hasArc(tail, head, reversed.get(i - 1) - reversed.get(i + 1))) {
+                path.add(head);
+            } else {
+                unpack(lower, partition.cell(lower, tail), tail, head, path, workspace);
+            }
+        }
+    }
+
+    private boolean hasArc(int from, int to, int length) {
+        for (int edge = graph.firstEdge(from), end = graph.endEdge(from); edge < end; edge++) {
+            if (graph.target(edge) == to && graph.weight(edge) == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Query {
+        private final int source;
+        private final int destination;
+        private final SearchStats stats;
+        private int best = Integer.MAX_VALUE;
+        private int meeting = -1;
+
+        Query(int source, int destination, SearchStats stats) {
+            this.source = source;
+            this.destination = destination;
+            this.stats = stats;
+        }
+
+        void step(boolean forwardStep, VertexQueue queue, QueryWorkspace own, QueryWorkspace other) {
+            int key = queue.minKey();
+            int vertex = queue.poll();
+            int vertexDistance = own.distance(vertex);
+            if (SearchStats.ENABLED) {
+                stats.pops++;
+            }
+            if (key > vertexDistance) {
+                if (SearchStats.ENABLED) {
+                    stats.stalePops++;
+                }
+                return;
+            }
+            if (SearchStats.ENABLED) {
+                stats.settled++;
+            }
+
+            int level = queryLevel(vertex, source, destination);
+            if (level >= 0) {
+                int cell = partition.cell(level, vertex);
+                int size = partition.boundarySize(level, cell);
+                int first = partition.boundaryStart(level, cell);
+                int index = partition.boundaryIndex(level, vertex);
+                int[] matrix = matrices[level];
+                int start = matrixStart[level][cell];
+                int offset = forwardStep ? start + index * size : start + index;
+                int stride = forwardStep ? 1 : size;
+                for (int j = 0; j < size; j++, offset += stride) {
+                    if (j != index && matrix[offset] != Integer.MAX_VALUE) {
+                        relax(vertex, partition.boundaryVertex(level, first + j), vertexDistance + matrix[offset],
+                                queue, own, other);
+                    }
+                }
+            }
+            CsrGraph arcs = forwardStep ? graph : reverse;
+            for (int edge = arcs.firstEdge(vertex), end = arcs.endEdge(vertex); edge < end; edge++) {
+                int head = arcs.target(edge);
+                if (level < 0 || partition.cell(level, head) != partition.cell(level, vertex)) {
+                    relax(vertex, head, vertexDistance + arcs.weight(edge), queue, own, other);
+                }
+            }
+        }
+
+        private void relax(int vertex, int head, int newDistance, VertexQueue queue, QueryWorkspace own, QueryWorkspace other) {
+            if (SearchStats.ENABLED) {
+                stats.relaxed++;
+            }
+            if (newDistance < own.distance(head)) {
+                own.update(head, newDistance, vertex);
+                queue.push(head, newDistance);
+                if (SearchStats.ENABLED) {
+                    stats.pushes++;
+                }
+                if (other.isReached(head)) {
+                    long total = (long) newDistance + other.distance(head);
+                    if (total < best) {
+                        best = (int) total;
+                        meeting = head;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package dsaprojects;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+// Reproducible benchmark for findShortestPath: every graph and query set comes from a fixed
+// seed, each measurement is preceded by a warmup pass over the same queries, and results are
+// printed as one row per (graph, mode). Run with
+//   java dsaprojects.PathBenchmark [sizes=10000,40000] [queries=500] [threads=1,2,4] [seconds=2]
+//       [modes=DIJKSTRA,BIDIRECTIONAL,ALT,CONTRACTION_HIERARCHY,PARTITION_OVERLAY]
+public final class PathBenchmark {
+    private final int queries;
+    private final int[] threadCounts;
+    private final double seconds;
+
+    private PathBenchmark(int queries, int[] threadCounts, double seconds) {
+        this.queries = queries;
+        this.threadCounts = threadCounts;
+        this.seconds = seconds;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] sizes = {10_000, 40_000};
+        int queries = 500;
+        int[] threadCounts = {1, Runtime.getRuntime().availableProcessors()};
+        double seconds = 2;
+        List<SearchMode> modes = List.of(SearchMode.DIJKSTRA, SearchMode.BIDIRECTIONAL, SearchMode.ALT,
+                SearchMode.CONTRACTION_HIERARCHY, SearchMode.PARTITION_OVERLAY);
+        boolean explicitModes = false;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("sizes=")) {
+                sizes = parseInts(value);
+            } else if (arg.startsWith("queries=")) {
+                queries = Integer.parseInt(value);
+            } else if (arg.startsWith("threads=")) {
+                threadCounts = parseInts(value);
+            } else if (arg.startsWith("seconds=")) {
+                seconds = Double.parseDouble(value);
+            } else if (arg.startsWith("modes=")) {
+                List<SearchMode> selected = new ArrayList<>();
+                for (String mode : value.split(",")) {
+                    selected.add(SearchMode.valueOf(mode.trim()));
+                }
+                modes = selected;
+                explicitModes = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        PathBenchmark benchmark = new PathBenchmark(queries, threadCounts, seconds);
+        for (int size : sizes) {
+            int side = (int) Math.round(Math.sqrt(size));
+            benchmark.run("grid-" + side * side, () -> GraphGenerators.grid(side, new Random(42)), modes);
+            benchmark.run("geometric-" + size, () -> GraphGenerators.randomGeometric(size, 8, new Random(42), null), modes);
+            // Contracting the hubs of a power-law graph creates a quadratic number of shortcut
+            // candidates, and its cells have huge boundaries, so hierarchy and overlay
+            // preprocessing there only run when asked for explicitly.
+            List<SearchMode> powerLawModes = new ArrayList<>(modes);
+            if (!explicitModes) {
+                powerLawModes.remove(SearchMode.CONTRACTION_HIERARCHY);
+                powerLawModes.remove(SearchMode.PARTITION_OVERLAY);
+            }
+            benchmark.run("powerlaw-" + size, () -> GraphGenerators.powerLaw(size, 3, new Random(42)), powerLawModes);
+        }
+    }
+
+    private interface GraphSource {
+        CsrGraph create();
+    }
+
+    private void run(String name, GraphSource source, List<SearchMode> modes) throws InterruptedException {
+        long start = System.nanoTime();
+        CsrGraph graph = source.create();
+        long generated = System.nanoTime() - start;
+        ShortestPathFinder finder = new ShortestPathFinder(graph);
+        System.out.printf("%n%s: %d vertices, %d arcs, generated in %.1f ms%n", name, graph.vertexCount(),
+                graph.edgeCount(), generated / 1e6);
+
+        int[] sources = new int[queries];
+        int[] destinations = new int[queries];
+        Random random = new Random(7);
+        for (int i = 0; i < queries; i++) {
+            sources[i] = random.nextInt(graph.vertexCount());
+            destinations[i] = random.nextInt(graph.vertexCount());
+        }
+
+        for (SearchMode mode : modes) {
+            String preprocessing = preprocess(finder, mode);
+            finder.setSearchMode(mode);
+            measureLatency(finder, sources, destinations);
+            Latency latency = measureLatency(finder, sources, destinations);
+            System.out.printf("  %-22s %s  %.0f bytes/query  checksum %d%s%n", mode, latency.histogram,
+                    latency.allocatedPerQuery, latency.checksum, preprocessing);
+            for (int threads : threadCounts) {
+                System.out.printf("  %-22s %2d threads: %10.0f queries/s%n", "", threads,
+                        throughput(finder, sources, destinations, threads));
+            }
+        }
+    }
+
+    private static String preprocess(ShortestPathFinder finder, SearchMode mode) {
+        long start = System.nanoTime();
+        if (mode == SearchMode.CONTRACTION_HIERARCHY) {
+            int shortcuts = finder.contractionHierarchy().shortcutCount();
+            return String.format("  (preprocessing %.1f ms, %d shortcuts)", (System.nanoTime() - start) / 1e6, shortcuts);
+        } else if (mode == SearchMode.ALT) {
+            int landmarks = finder.landmarks().landmarkCount();
+            return String.format("  (preprocessing %.1f ms, %d landmarks)", (System.nanoTime() - start) / 1e6, landmarks);
+        } else if (mode == SearchMode.PARTITION_OVERLAY) {
+            MultiLevelPartition partition = finder.partition();
+            long partitioned = System.nanoTime();
+            finder.overlay();
+            return String.format("  (partitioning %.1f ms into %d levels, customization %.1f ms)",
+                    (partitioned - start) / 1e6, partition.levelCount(), (System.nanoTime() - partitioned) / 1e6);
+        }
+        return "";
+    }
+
+    private static final class Latency {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long checksum;
+        private double allocatedPerQuery;
+    }
+
+    private static Latency measureLatency(ShortestPathFinder finder, int[] sources, int[] destinations) {
+        GraphSnapshot snapshot = finder.snapshot();
+        QueryWorkspace workspace = new QueryWorkspace();
+        Latency latency = new Latency();
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < sources.length; i++) {
+            long start = System.nanoTime();
+            ShortestPathFinder.Route route = finder.route(snapshot, sources[i], destinations[i], workspace);
+            latency.histogram.recordNanos(System.nanoTime() - start);
+            latency.checksum += route.distance();
+        }
+        latency.allocatedPerQuery = (double) (allocatedBytes() - allocatedBefore) / sources.length;
+        return latency;
+    }
+
+    private double throughput(ShortestPathFinder finder, int[] sources, int[] destinations, int threads)
+            throws InterruptedException {
+        GraphSnapshot snapshot = finder.snapshot();
+        LongAdder completed = new LongAdder();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        long deadline = (long) (seconds * 1e9);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int offset = t * sources.length / threads;
+            workers[t] = new Thread(() -> {
+                QueryWorkspace workspace = new QueryWorkspace();
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long start = System.nanoTime();
+                int i = offset;
+                while (System.nanoTime() - start < deadline) {
+                    finder.route(snapshot, sources[i], destinations[i], workspace);
+                    completed.increment();
+                    i = i + 1 == sources.length ? 0 : i + 1;
+                }
+            });
+            workers[t].start();
+        }
+        ready.await();
+        long start = System.nanoTime();
+        go.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return completed.sum() / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static int[] parseInts(String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,536 @@
+package dsaprojects;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+// Reproducible brute-force check of the algorithms whose answers are easiest to get subtly
+// wrong: delta-stepping against Bellman-Ford and Dijkstra, Yen's k shortest paths against
+// an enumeration of every simple path, and every search mode of the finder against
+// Bellman-Ford while its graph is edited, batched, reordered, saved and imported. Graphs
+// come from a fixed seed; the first mismatch is reported and the exit status is non-zero.
+// Run with
+//   java dsaprojects.PathVerifier [trials=300] [seed=42] [size=20000]
+public final class PathVerifier {
+    private final Random random;
+    private int checks;
+
+    private PathVerifier(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int trials = 300;
+        long seed = 42;
+        int size = 20_000;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("trials=")) {
+                trials = Integer.parseInt(value);
+            } else if (arg.startsWith("seed=")) {
+                seed = Long.parseLong(value);
+            } else if (arg.startsWith("size=")) {
+                size = Integer.parseInt(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        PathVerifier verifier = new PathVerifier(seed);
+        try {
+            verifier.verifyDeltaSteppingSmall(trials);
+            verifier.verifyDeltaSteppingLarge(size);
+            verifier.verifyKShortestPaths(trials);
+            verifier.verifySearchModes(Math.max(1, trials / 10));
+        } catch (AssertionError e) {
+            System.out.println("FAILED: " + e.getMessage());
+            System.exit(1);
+        } catch (RuntimeException e) {
+            System.out.println("FAILED: unexpected " + e);
+            e.printStackTrace(System.out);
+            System.exit(1);
+        }
+        System.out.printf("All %d checks passed%n", verifier.checks);
+    }
+
+    private void verifyDeltaSteppingSmall(int trials) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int trial = 0; trial < trials; trial++) {
+                CsrGraph graph = randomGraph(2 + random.nextInt(40), random.nextInt(120), 0, 30);
+                int source = random.nextInt(graph.vertexCount());
+                int[] expected = bellmanFord(graph, source);
+                for (int delta : new int[]{1, 1 + random.nextInt(40), DeltaStepping.autoDelta(graph)}) {
+                    check(Arrays.equals(expected, DeltaStepping.shortestDistances(graph, source, delta, pool)),
+                            "delta-stepping differs from Bellman-Ford, trial " + trial + " delta " + delta);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("delta-stepping matches Bellman-Ford on %d random graphs%n", trials);
+    }
+
+    private void verifyDeltaSteppingLarge(int size) {
+        int side = (int) Math.round(Math.sqrt(size));
+        List<CsrGraph> graphs = List.of(GraphGenerators.grid(side, new Random(42)),
+                GraphGenerators.randomGeometric(size, 8, new Random(42), null),
+                GraphGenerators.powerLaw(size, 3, new Random(42)));
+        QueryWorkspace workspace = new QueryWorkspace();
+        for (CsrGraph graph : graphs) {
+            for (int query = 0; query < 5; query++) {
+                int source = random.nextInt(graph.vertexCount());
+                ShortestPathFinder.search(graph, source, -1, workspace, workspace.queue(QueueType.FOUR_ARY_HEAP, graph.vertexCount()));
+                int[] expected = new int[graph.vertexCount()];
+                for (int vertex = 0; vertex < expected.length; vertex++) {
+                    expected[vertex] = workspace.distance(vertex);
+                }
+                check(Arrays.equals(expected, DeltaStepping.shortestDistances(graph, source)),
+                        "delta-stepping differs from Dijkstra on a graph of " + graph.vertexCount() + " vertices");
+            }
+        }
+        System.out.printf("delta-stepping matches Dijkstra on %d generated graphs of about %d vertices%n", graphs.size(), size);
+    }
+
+    private void verifyKShortestPaths(int trials) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int trial = 0; trial < trials; trial++) {
+                int vertexCount = 2 + random.nextInt(8);
+                CsrGraph graph = randomGraph(vertexCount, random.nextInt(4 * vertexCount), 0, 9);
+                int source = random.nextInt(vertexCount);
+                int target = random.nextInt(vertexCount);
+                int k = 1 + random.nextInt(12);
+                long[] expected = simplePathCosts(graph, source, target);
+                List<ShortestPathFinder.Route> routes = KShortestPaths.find(graph, source, target, k, pool);
+                String where = "trial " + trial + " from " + source + " to " + target + " k " + k;
+                check(routes.size() == Math.min(k, expected.length), "Yen found " + routes.size() + " paths, "
+                        + Math.min(k, expected.length) + " exist, " + where);
+                Set<List<Integer>> distinct = new HashSet<>();
+                for (int i = 0; i < routes.size(); i++) {
+                    ShortestPathFinder.Route route = routes.get(i);
+                    check(route.distance() == expected[i], "path " + i + " costs " + route.distance()
+                            + " instead of " + expected[i] + ", " + where);
+                    check(pathCost(graph, route.path(), source, target) == route.distance(),
+                            "path " + i + " is not a simple path of its reported cost, " + where);
+                    check(distinct.add(route.path()), "path " + i + " is a duplicate, " + where);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("k shortest paths match simple-path enumeration on %d random graphs%n", trials);
+    }
+
+    // Each trial edits one finder the way an application would and compares every search mode
+    // with Bellman-Ford on a mirror of its arcs after each step. A snapshot taken before the
+    // edits must keep its answers, a maintained tree must follow every change, a batch that
+    // throws must leave nothing behind, and hierarchy and landmark files must be refused once
+    // the weights they were built from change or when they come from another graph.
+    private void verifySearchModes(int trials) throws IOException {
+        Path directory = Files.createTempDirectory("path-verifier");
+        try {
+            for (int trial = 0; trial < trials; trial++) {
+                verifyEditedFinder(trial, directory);
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+        System.out.printf("all %d search modes match Bellman-Ford through edits, batches, reordering and"
+                + " imports on %d random graphs%n", SearchMode.values().length, trials);
+    }
+
+    private void verifyEditedFinder(int trial, Path directory) throws IOException {
+        int vertexCount = 2 + random.nextInt(39);
+        Reference reference = new Reference(vertexCount, random);
+        ShortestPathFinder finder = new ShortestPathFinder();
+        finder.setQueueType(QueueType.values()[trial % QueueType.values().length]);
+        finder.batch(() -> {
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                finder.setCoordinates(vertex, reference.xs[vertex], reference.ys[vertex]);
+            }
+            addArc(finder, reference, vertexCount - 1, random.nextInt(vertexCount));
+            for (int i = 0; i < 3 * vertexCount; i++) {
+                addArc(finder, reference, random.nextInt(vertexCount), random.nextInt(vertexCount));
+            }
+        });
+        finder.setHeuristic(Heuristic.euclidean(finder.getCoordinates(), 1.0));
+        String where = "trial " + trial;
+        checkModes(finder, finder.snapshot(), reference, where + " after the first batch");
+        DynamicShortestPathTree tree = finder.maintainShortestPathTree(random.nextInt(vertexCount));
+
+        Path hierarchyFile = directory.resolve("hierarchy-" + trial);
+        Path landmarkFile = directory.resolve("landmarks-" + trial);
+        finder.contractionHierarchy().write(hierarchyFile);
+        finder.landmarks().write(landmarkFile);
+        finder.setContractionHierarchy(ContractionHierarchy.read(hierarchyFile));
+        finder.setLandmarks(LandmarkHeuristic.read(landmarkFile));
+        GraphSnapshot before = finder.snapshot();
+        Reference referenceBefore = reference.copy();
+
+        int[] arc = reference.randomArc(random);
+        int raised = reference.weights[arc[0]][arc[1]] + 1;
+        finder.updateDirectedEdgeWeight(arc[0], arc[1], raised);
+        reference.weights[arc[0]][arc[1]] = raised;
+        for (int i = 0; i < 5; i++) {
+            edit(finder, reference);
+        }
+        checkModes(finder, finder.snapshot(), reference, where + " after single edits");
+        checkModes(finder, before, referenceBefore, where + " on the snapshot taken before the edits");
+        checkTree(tree, reference, where + " after single edits");
+        ContractionHierarchy staleHierarchy = ContractionHierarchy.read(hierarchyFile);
+        checkRejected(() -> finder.setContractionHierarchy(staleHierarchy), "hierarchy for old weights, " + where);
+        LandmarkHeuristic staleLandmarks = LandmarkHeuristic.read(landmarkFile);
+        checkRejected(() -> finder.setLandmarks(staleLandmarks), "landmarks for old weights, " + where);
+
+        finder.batch(() -> {
+            for (int i = 0; i < 8; i++) {
+                edit(finder, reference);
+            }
+        });
+        checkModes(finder, finder.snapshot(), reference, where + " after a batch");
+        checkTree(tree, reference, where + " after a batch");
+        long version = finder.snapshot().version();
+        Reference abandoned = reference.copy();
+        try {
+            finder.batch(() -> {
+                for (int i = 0; i < 4; i++) {
+                    edit(finder, abandoned);
+                }
+                throw new IllegalStateException("abandoned batch");
+            });
+            check(false, "a throwing batch completed, " + where);
+        } catch (IllegalStateException expected) {
+            check(finder.snapshot().version() == version, "a throwing batch published a graph, " + where);
+        }
+        checkModes(finder, finder.snapshot(), reference, where + " after a throwing batch");
+        checkTree(tree, reference, where + " after a throwing batch");
+
+        VertexOrdering ordering = VertexOrdering.values()[random.nextInt(VertexOrdering.values().length)];
+        finder.reorderVertices(ordering);
+        where += " reordered by " + ordering;
+        checkModes(finder, finder.snapshot(), reference, where);
+        checkTree(tree, reference, where);
+        finder.batch(() -> {
+            for (int i = 0; i < 4; i++) {
+                edit(finder, reference);
+            }
+        });
+        edit(finder, reference);
+        checkModes(finder, finder.snapshot(), reference, where + " after more edits");
+        checkTree(tree, reference, where + " after more edits");
+
+        Path graphFile = directory.resolve("graph-" + trial);
+        finder.save(graphFile);
+        ShortestPathFinder reopened = ShortestPathFinder.open(graphFile);
+        reopened.setHeuristic(Heuristic.euclidean(reopened.getCoordinates(), 1.0));
+        checkModes(reopened, reopened.snapshot(), reference, where + " saved and reopened");
+
+        finder.contractionHierarchy().write(hierarchyFile);
+        finder.landmarks().write(landmarkFile);
+        finder.setContractionHierarchy(ContractionHierarchy.read(hierarchyFile));
+        finder.setLandmarks(LandmarkHeuristic.read(landmarkFile));
+        checkModes(finder, finder.snapshot(), reference, where + " with preprocessing read back from files");
+        ShortestPathFinder foreign = new ShortestPathFinder();
+        foreign.batch(() -> {
+            for (int from = 0; from < vertexCount; from++) {
+                for (int to = 0; to < vertexCount; to++) {
+                    if (reference.weights[from][to] != Integer.MAX_VALUE) {
+                        foreign.addDirectedEdge(from, to, reference.weights[from][to] + 1);
+                    }
+                }
+            }
+        });
+        foreign.contractionHierarchy().write(hierarchyFile);
+        foreign.landmarks().write(landmarkFile);
+        ContractionHierarchy foreignHierarchy = ContractionHierarchy.read(hierarchyFile);
+        checkRejected(() -> finder.setContractionHierarchy(foreignHierarchy), "hierarchy of another graph, " + where);
+        LandmarkHeuristic foreignLandmarks = LandmarkHeuristic.read(landmarkFile);
+        checkRejected(() -> finder.setLandmarks(foreignLandmarks), "landmarks of another graph, " + where);
+
+        Path edgeList = directory.resolve("edges-" + trial);
+        Files.writeString(edgeList, reference.toDimacs());
+        ShortestPathFinder imported = ShortestPathFinder.importEdgeList(edgeList, EdgeListImporter.Format.DIMACS);
+        checkModes(imported, imported.snapshot(), reference, "trial " + trial + " imported from DIMACS");
+    }
+
+    private void addArc(ShortestPathFinder finder, Reference reference, int from, int to) {
+        int weight = reference.lowerBound(from, to) + random.nextInt(20);
+        finder.addDirectedEdge(from, to, weight);
+        reference.weights[from][to] = Math.min(reference.weights[from][to], weight);
+    }
+
+    // Weights never drop below the straight-line distance, so the Euclidean heuristic stays
+    // admissible. Updates set every parallel arc and removals drop them all, as the finder does.
+    private void edit(ShortestPathFinder finder, Reference reference) {
+        int[] arc = reference.randomArc(random);
+        int operation = random.nextInt(3);
+        if (arc == null || operation == 0) {
+            addArc(finder, reference, random.nextInt(reference.vertexCount()), random.nextInt(reference.vertexCount()));
+            return;
+        }
+        int from = arc[0];
+        int to = arc[1];
+        if (operation == 1) {
+            int weight = reference.lowerBound(from, to) + random.nextInt(20);
+            finder.updateDirectedEdgeWeight(from, to, weight);
+            reference.weights[from][to] = weight;
+        } else {
+            finder.removeDirectedEdge(from, to);
+            reference.weights[from][to] = Integer.MAX_VALUE;
+        }
+    }
+
+    private void checkModes(ShortestPathFinder finder, GraphSnapshot snapshot, Reference reference, String where) {
+        QueryWorkspace workspace = new QueryWorkspace();
+        SearchMode previous = finder.getSearchMode();
+        try {
+            for (int query = 0; query < 4; query++) {
+                int source = random.nextInt(reference.vertexCount());
+                int[] expected = reference.distancesFrom(source);
+                for (SearchMode mode : SearchMode.values()) {
+                    finder.setSearchMode(mode);
+                    for (int destination = 0; destination < expected.length; destination++) {
+                        ShortestPathFinder.Route route = finder.route(snapshot, source, destination, workspace);
+                        String what = mode + " from " + source + " to " + destination + ", " + where;
+                        check(route.distance() == expected[destination], what + " gives " + route.distance()
+                                + " instead of " + expected[destination]);
+                        if (expected[destination] != Integer.MAX_VALUE) {
+                            check(reference.pathCost(route.path(), source, destination) == expected[destination],
+                                    what + " returns a path that does not cost its distance: " + route.path());
+                        }
+                    }
+                }
+            }
+        } finally {
+            finder.setSearchMode(previous);
+        }
+    }
+
+    private void checkTree(DynamicShortestPathTree tree, Reference reference, String where) {
+        int[] expected = reference.distancesFrom(tree.source());
+        for (int vertex = 0; vertex < expected.length; vertex++) {
+            check(tree.distance(vertex) == expected[vertex], "maintained tree from " + tree.source() + " has "
+                    + tree.distance(vertex) + " instead of " + expected[vertex] + " for " + vertex + ", " + where);
+        }
+    }
+
+    private void checkRejected(Runnable install, String what) {
+        try {
+            install.run();
+        } catch (IllegalArgumentException expected) {
+            check(true, what);
+            return;
+        }
+        check(false, what + " was accepted");
+    }
+
+    // The arcs a finder should hold, as the cheapest weight per ordered pair.
+    private static final class Reference {
+        private final int[][] weights;
+        private final double[] xs;
+        private final double[] ys;
+
+        Reference(int vertexCount, Random random) {
+            weights = new int[vertexCount][vertexCount];
+            for (int[] row : weights) {
+                Arrays.fill(row, Integer.MAX_VALUE);
+            }
+            xs = new double[vertexCount];
+            ys = new double[vertexCount];
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                xs[vertex] = random.nextDouble() * 20;
+                ys[vertex] = random.nextDouble() * 20;
+            }
+        }
+
+        private Reference(int[][] weights, double[] xs, double[] ys) {
+            this.weights = weights;
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        Reference copy() {
+            int[][] copy = new int[weights.length][];
+            for (int i = 0; i < weights.length; i++) {
+                copy[i] = weights[i].clone();
+            }
+            return new Reference(copy, xs, ys);
+        }
+
+        int vertexCount() {
+            return weights.length;
+        }
+
+        int lowerBound(int from, int to) {
+            return (int) Math.ceil(Math.hypot(xs[from] - xs[to], ys[from] - ys[to]));
+        }
+
+        // A uniformly chosen arc, or null if there is none.
+        int[] randomArc(Random random) {
+            List<int[]> arcs = new ArrayList<>();
+            for (int from = 0; from < weights.length; from++) {
+                for (int to = 0; to < weights.length; to++) {
+                    if (weights[from][to] != Integer.MAX_VALUE) {
+                        arcs.add(new int[]{from, to});
+                    }
+                }
+            }
+            return arcs.isEmpty() ? null : arcs.get(random.nextInt(arcs.size()));
+        }
+
+        int[] distancesFrom(int source) {
+            int[] distance = new int[weights.length];
+            Arrays.fill(distance, Integer.MAX_VALUE);
+            distance[source] = 0;
+            for (boolean changed = true; changed; ) {
+                changed = false;
+                for (int from = 0; from < weights.length; from++) {
+                    for (int to = 0; to < weights.length; to++) {
+                        if (distance[from] != Integer.MAX_VALUE && weights[from][to] != Integer.MAX_VALUE
+                                && distance[from] + weights[from][to] < distance[to]) {
+                            distance[to] = distance[from] + weights[from][to];
+                            changed = true;
+                        }
+                    }
+                }
+            }
+            return distance;
+        }
+
+        long pathCost(List<Integer> path, int source, int destination) {
+            if (path.isEmpty() || path.get(0) != source || path.get(path.size() - 1) != destination) {
+                return -1;
+            }
+            long cost = 0;
+            for (int i = 0; i + 1 < path.size(); i++) {
+                int weight = weights[path.get(i)][path.get(i + 1)];
+                if (weight == Integer.MAX_VALUE) {
+                    return -1;
+                }
+                cost += weight;
+            }
+            return cost;
+        }
+
+        String toDimacs() {
+            StringBuilder text = new StringBuilder();
+            int arcCount = 0;
+            for (int from = 0; from < weights.length; from++) {
+                for (int to = 0; to < weights.length; to++) {
+                    if (weights[from][to] != Integer.MAX_VALUE) {
+                        text.append("a ").append(from).append(' ').append(to).append(' ').append(weights[from][to]).append('\n');
+                        arcCount++;
+                    }
+                }
+            }
+            return "p sp " + weights.length + " " + arcCount + "\n" + text;
+        }
+    }
+
+    private void check(boolean condition, String message) {
+        checks++;
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    private CsrGraph randomGraph(int vertexCount, int arcCount, int minWeight, int maxWeight) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(arcCount);
+        builder.ensureVertexCount(vertexCount);
+        for (int i = 0; i < arcCount; i++) {
+            builder.addArc(random.nextInt(vertexCount), random.nextInt(vertexCount),
+                    minWeight + random.nextInt(maxWeight - minWeight + 1));
+        }
+        return builder.build();
+    }
+
+    private static int[] bellmanFord(CsrGraph graph, int source) {
+        int[] distance = new int[graph.vertexCount()];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        distance[source] = 0;
+        for (boolean changed = true; changed; ) {
+            changed = false;
+            for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+                if (distance[vertex] == Integer.MAX_VALUE) {
+                    continue;
+                }
+                for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                    int candidate = distance[vertex] + graph.weight(edge);
+                    if (candidate < distance[graph.target(edge)]) {
+                        distance[graph.target(edge)] = candidate;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return distance;
+    }
+
+    // Costs of every simple path from source to target in ascending order; parallel arcs
+    // count once, at their cheapest weight, as they do for Yen's vertex sequences.
+    private static long[] simplePathCosts(CsrGraph graph, int source, int target) {
+        List<Long> costs = new ArrayList<>();
+        enumerate(graph, source, target, new boolean[graph.vertexCount()], 0, costs);
+        long[] sorted = new long[costs.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = costs.get(i);
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static void enumerate(CsrGraph graph, int vertex, int target, boolean[] onPath, long cost, List<Long> costs) {
+        if (vertex == target) {
+            costs.add(cost);
+            return;
+        }
+        onPath[vertex] = true;
+        for (int next = 0; next < graph.vertexCount(); next++) {
+            int weight = arcWeight(graph, vertex, next);
+            if (!onPath[next] && weight != Integer.MAX_VALUE) {
+                enumerate(graph, next, target, onPath, cost + weight, costs);
+            }
+        }
+        onPath[vertex] = false;
+    }
+
+    private static long pathCost(CsrGraph graph, List<Integer> path, int source, int target) {
+        if (path.isEmpty() || path.get(0) != source || path.get(path.size() - 1) != target
+                || new HashSet<>(path).size() != path.size()) {
+            return -1;
+        }
+        long cost = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            int weight = arcWeight(graph, path.get(i), path.get(i + 1));
+            if (weight == Integer.MAX_VALUE) {
+                return -1;
+            }
+            cost += weight;
+        }
+        return cost;
+    }
+
+    private static int arcWeight(CsrGraph graph, int from, int to) {
+        int weight = Integer.MAX_VALUE;
+        for (int edge = graph.firstEdge(from), end = graph.endEdge(from); edge < end; edge++) {
+            if (graph.target(edge) == to) {
+                weight = Math.min(weight, graph.weight(edge));
+            }
+        }
+        return weight;
+    }
+}
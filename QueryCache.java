@@ -0,0 +1,131 @@
+package dsaprojects;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class QueryCache {
+    private final int maxEntries;
+    private final long maxVertices;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedVertices;
+    private long version;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QueryCache(int maxEntries, long maxVertices) {
+        if (maxEntries < 1 || maxVertices < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive: " + maxEntries + ", " + maxVertices);
+        }
+        this.maxEntries = maxEntries;
+        this.maxVertices = maxVertices;
+    }
+
+    public synchronized Entry get(int source, int destination) {
+        Entry entry = entries.get(key(source, destination));
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    // A query that captured an older graph snapshot can finish after a newer one was
+    // published; tagging lookups and stores with the snapshot version keeps its result out.
+    synchronized Entry get(long version, int source, int destination) {
+        if (!advanceTo(version)) {
+            misses.increment();
+            return null;
+        }
+        return get(source, destination);
+    }
+
+    synchronized void put(long version, int source, int destination, List<Integer> path, int distance) {
+        if (advanceTo(version)) {
+            put(source, destination, path, distance);
+        }
+    }
+
+    private boolean advanceTo(long version) {
+        if (version > this.version) {
+            invalidateAll();
+            this.version = version;
+        }
+        return version == this.version;
+    }
+
+    public synchronized void put(int source, int destination, List<Integer> path, int distance) {
+        if (path.size() > maxVertices) {
+            return;
+        }
+        int[] vertices = new int[path.size()];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = path.get(i);
+        }
+        Entry previous = entries.put(key(source, destination), new Entry(vertices, distance));
+        if (previous != null) {
+            cachedVertices -= previous.path.length;
+        }
+        cachedVertices += vertices.length;
+
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries || cachedVertices > maxVertices) {
+            cachedVertices -= eldest.next().getValue().path.length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        cachedVertices = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private static Long key(int source, int destination) {
+        return ((long) source << 32) | (destination & 0xffffffffL);
+    }
+
+    public static final class Entry {
+        private final int[] path;
+        private final int distance;
+
+        Entry(int[] path, int distance) {
+            this.path = path;
+            this.distance = distance;
+        }
+
+        public int distance() {
+            return distance;
+        }
+
+        public int[] path() {
+            return path.clone();
+        }
+    }
+}
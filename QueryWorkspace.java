@@ -0,0 +1,74 @@
+package dsaprojects;
+
+import java.util.Arrays;
+
+public final class QueryWorkspace {
+    private static final ThreadLocal<QueryWorkspace> POOL = ThreadLocal.withInitial(QueryWorkspace::new);
+
+    private int[] distance = new int[0];
+    private int[] previous = new int[0];
+    private int[] stamps = new int[0];
+    private int version;
+    private final VertexQueue[] queues = new VertexQueue[QueueType.values().length];
+    private QueryWorkspace backward;
+    private final SearchStats stats = new SearchStats();
+
+    public static QueryWorkspace forCurrentThread() {
+        return POOL.get();
+    }
+
+    public void reset(int vertexCount) {
+        if (stamps.length < vertexCount) {
+            int capacity = Math.max(vertexCount, stamps.length + (stamps.length >> 1));
+            distance = new int[capacity];
+            previous = new int[capacity];
+            stamps = new int[capacity];
+            version = 0;
+        }
+        version++;
+        if (version == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            version = 1;
+        }
+    }
+
+    public SearchStats stats() {
+        return stats;
+    }
+
+    public QueryWorkspace backward() {
+        if (backward == null) {
+            backward = new QueryWorkspace();
+        }
+        return backward;
+    }
+
+    public VertexQueue queue(QueueType type, int vertexCount) {
+        VertexQueue queue = queues[type.ordinal()];
+        if (queue == null) {
+            queue = type.create();
+            queues[type.ordinal()] = queue;
+        }
+        queue.ensureCapacity(vertexCount);
+        queue.clear();
+        return queue;
+    }
+
+    public boolean isReached(int vertex) {
+        return stamps[vertex] == version;
+    }
+
+    public int distance(int vertex) {
+        return stamps[vertex] == version ? distance[vertex] : Integer.MAX_VALUE;
+    }
+
+    public int previous(int vertex) {
+        return stamps[vertex] == version ? previous[vertex] : -1;
+    }
+
+    public void update(int vertex, int newDistance, int newPrevious) {
+        distance[vertex] = newDistance;
+        previous[vertex] = newPrevious;
+        stamps[vertex] = version;
+    }
+}
@@ -0,0 +1,97 @@
+package dsaprojects;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+public class QueueBenchmark {
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        ShortestPathFinder finder = new ShortestPathFinder(GraphGenerators.grid(side, new Random(42)));
+        int vertexCount = finder.graph().vertexCount();
+        int[] sources = new int[queries];
+        int[] destinations = new int[queries];
+        Random random = new Random(7);
+        for (int i = 0; i < queries; i++) {
+            sources[i] = random.nextInt(vertexCount);
+            destinations[i] = random.nextInt(vertexCount);
+        }
+
+        System.out.println("Grid " + side + "x" + side + ", " + queries + " queries");
+        for (QueueType type : QueueType.values()) {
+            run(finder, type, sources, destinations, true);
+            run(finder, type, sources, destinations, false);
+        }
+    }
+
+    private static void run(ShortestPathFinder finder, QueueType type, int[] sources, int[] destinations, boolean warmup) {
+        CsrGraph graph = finder.graph();
+        QueryWorkspace workspace = new QueryWorkspace();
+        CountingQueue queue = new CountingQueue(type.create());
+        long checksum = 0;
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < sources.length; i++) {
+            queue.ensureCapacity(graph.vertexCount());
+            queue.clear();
+            checksum += ShortestPathFinder.search(graph, sources[i], destinations[i], workspace, queue);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        if (!warmup) {
+            int queries = sources.length;
+            System.out.printf("%-15s %8.3f ms/query %10.1f pushes/query %10.1f polls/query %12.1f bytes/query (checksum %d)%n",
+                    type, elapsed / 1e6 / queries, (double) queue.pushes / queries, (double) queue.polls / queries,
+                    (double) allocated / queries, checksum);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static class CountingQueue implements VertexQueue {
+        private final VertexQueue delegate;
+        private long pushes;
+        private long polls;
+
+        CountingQueue(VertexQueue delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void ensureCapacity(int vertexCount) {
+            delegate.ensureCapacity(vertexCount);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+
+        @Override
+        public void push(int vertex, int key) {
+            pushes++;
+            delegate.push(vertex, key);
+        }
+
+        @Override
+        public int minKey() {
+            return delegate.minKey();
+        }
+
+        @Override
+        public int poll() {
+            polls++;
+            return delegate.poll();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dsaprojects;
+
+public enum QueueType {
+    PRIORITY_QUEUE {
+        @Override
+        VertexQueue create() {
+            return new NodePriorityQueue();
+        }
+    },
+    FOUR_ARY_HEAP {
+        @Override
+        VertexQueue create() {
+            return new IndexedDaryHeap(4);
+        }
+    },
+    DIAL {
+        @Override
+        VertexQueue create() {
+            return new DialQueue();
+        }
+    },
+    RADIX_HEAP {
+        @Override
+        VertexQueue create() {
+            return new RadixHeap();
+        }
+
+        @Override
+        boolean requiresMonotoneKeys() {
+            return true;
+        }
+    };
+
+    abstract VertexQueue create();
+
+    // True if a pushed key may never be below the last key polled, which A* only guarantees
+    // for consistent heuristics.
+    boolean requiresMonotoneKeys() {
+        return false;
+    }
+}
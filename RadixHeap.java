@@ -0,0 +1,87 @@
+package dsaprojects;
+
+final class RadixHeap implements VertexQueue {
+    private final IntList[] vertices = new IntList[33];
+    private final IntList[] keys = new IntList[33];
+    private int last;
+    private int size;
+
+    RadixHeap() {
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = new IntList(4);
+            keys[i] = new IntList(4);
+        }
+    }
+
+    @Override
+    public void ensureCapacity(int vertexCount) {
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i].clear();
+            keys[i].clear();
+        }
+        last = 0;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void push(int vertex, int key) {
+        if (key < last) {
+            throw new IllegalStateException("Radix heap keys must be monotone: " + key + " < " + last);
+        }
+        int bucket = bucket(key);
+        vertices[bucket].add(vertex);
+        keys[bucket].add(key);
+        size++;
+    }
+
+    @Override
+    public int minKey() {
+        refill();
+        return last;
+    }
+
+    @Override
+    public int poll() {
+        refill();
+        size--;
+        keys[0].removeLast();
+        return vertices[0].removeLast();
+    }
+
+    private int bucket(int key) {
+        return key == last ? 0 : 32 - Integer.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void refill() {
+        if (!vertices[0].isEmpty()) {
+            return;
+        }
+        int index = 1;
+        while (vertices[index].isEmpty()) {
+            index++;
+        }
+        IntList bucketVertices = vertices[index];
+        IntList bucketKeys = keys[index];
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < bucketKeys.size(); i++) {
+            min = Math.min(min, bucketKeys.get(i));
+        }
+        last = min;
+        while (!bucketVertices.isEmpty()) {
+            int key = bucketKeys.removeLast();
+            int vertex = bucketVertices.removeLast();
+            int bucket = bucket(key);
+            vertices[bucket].add(vertex);
+            keys[bucket].add(key);
+        }
+    }
+}
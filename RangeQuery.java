@@ -0,0 +1,57 @@
+package dsaprojects;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Bounded Dijkstra: everything within limit of a source, inclusive. Arcs that would exceed
+// the limit are never pushed, so the queue only ever holds vertices inside the range and
+// the search ends as soon as it is empty.
+public final class RangeQuery {
+    private RangeQuery() {
+    }
+
+    public static ReachableSet reachable(CsrGraph graph, int source, int limit, QueueType queueType,
+                                         QueryWorkspace workspace) {
+        int vertexCount = graph.vertexCount();
+        if (source < 0 || source >= vertexCount || limit < 0) {
+            return new ReachableSet(source, limit, new int[0], new int[0]);
+        }
+        VertexQueue queue = workspace.queue(queueType, vertexCount);
+        workspace.reset(vertexCount);
+        workspace.update(source, 0, -1);
+        queue.push(source, 0);
+
+        IntList vertices = new IntList();
+        IntList distances = new IntList();
+        while (!queue.isEmpty()) {
+            int key = queue.minKey();
+            int vertex = queue.poll();
+            int vertexDistance = workspace.distance(vertex);
+            if (key > vertexDistance) {
+                continue;
+            }
+            vertices.add(vertex);
+            distances.add(vertexDistance);
+
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                int target = graph.target(edge);
+                long newDistance = (long) vertexDistance + graph.weight(edge);
+
+                if (newDistance <= limit && newDistance < workspace.distance(target)) {
+                    workspace.update(target, (int) newDistance, vertex);
+                    queue.push(target, (int) newDistance);
+                }
+            }
+        }
+        return new ReachableSet(source, limit, vertices.toArray(), distances.toArray());
+    }
+
+    public static ReachableSet[] reachable(CsrGraph graph, int[] sources, int limit, QueueType queueType,
+                                           ForkJoinPool pool) {
+        ReachableSet[] results = new ReachableSet[sources.length];
+        pool.submit(() -> IntStream.range(0, sources.length).parallel().forEach(i ->
+                results[i] = reachable(graph, sources[i], limit, queueType, QueryWorkspace.forCurrentThread())))
+                .join();
+        return results;
+    }
+}
@@ -0,0 +1,56 @@
+package dsaprojects;
+
+// Vertices within a distance bound of a source, in the order the search settled them, so
+// distances are non-decreasing and the source comes first.
+public final class ReachableSet {
+    private final int source;
+    private final int limit;
+    private final int[] vertices;
+    private final int[] distances;
+
+    ReachableSet(int source, int limit, int[] vertices, int[] distances) {
+        this.source = source;
+        this.limit = limit;
+        this.vertices = vertices;
+        this.distances = distances;
+    }
+
+    public int source() {
+        return source;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int size() {
+        return vertices.length;
+    }
+
+    public int vertex(int index) {
+        return vertices[index];
+    }
+
+    public int distance(int index) {
+        return distances[index];
+    }
+
+    ReachableSet toExternal(VertexOrder order) {
+        if (order.isIdentity()) {
+            return this;
+        }
+        int[] external = new int[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            external[i] = order.toExternal(vertices[i]);
+        }
+        return new ReachableSet(order.toExternal(source), limit, external, distances);
+    }
+
+    public int[] vertices() {
+        return vertices.clone();
+    }
+
+    public int[] distances() {
+        return distances.clone();
+    }
+}
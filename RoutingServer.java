@@ -0,0 +1,356 @@
+package dsaprojects;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class RoutingServer {
+    private static final ThreadLocal<Boolean> REJECTING = ThreadLocal.withInitial(() -> false);
+    // A distance matrix answer is rendered as one JSON string, so its size is bounded up front.
+    private static final int MAX_MATRIX_ENTRIES = 1 << 20;
+    // The same holds for a POST batch, whose answers are rendered as one JSON array.
+    private static final int MAX_BATCH_LINES = 1 << 20;
+
+    private final ShortestPathFinder finder;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ExecutorService rejections;
+    private final int maxPending;
+    private final Semaphore admission;
+    private final ConcurrentLinkedQueue<QueryWorkspace> workspaces = new ConcurrentLinkedQueue<>();
+    private final LatencyHistogram routeLatency = new LatencyHistogram();
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+    private final LatencyHistogram matrixLatency = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+
+    public RoutingServer(ShortestPathFinder finder, InetSocketAddress address, int maxPending) throws IOException {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Admission bound must be positive: " + maxPending);
+        }
+        this.finder = finder;
+        this.maxPending = maxPending;
+        this.admission = new Semaphore(maxPending);
+        this.workers = newRequestExecutor();
+        this.rejections = newRejectionExecutor();
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(new AdmissionExecutor());
+        server.createContext("/route", exchange -> handle(exchange, this::route));
+        server.createContext("/matrix", exchange -> handle(exchange, this::matrix));
+        server.createContext("/metrics", exchange -> handle(exchange, this::metrics));
+    }
+
+    // Virtual threads make per-request threads free, so the only concurrency limit left is the
+    // admission bound. They need JDK 21; older runtimes fall back to a pool sized to the cores.
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), task -> {
+                Thread thread = new Thread(task, "routing-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // Rejections still have to drain the request and write a 503, which a slow client can drag
+    // out; two threads keep that off the dispatcher. Queued rejections are only a few objects
+    // each, and dropping one would leave its client waiting on a connection nobody answers.
+    private static ExecutorService newRejectionExecutor() {
+        return Executors.newFixedThreadPool(2, task -> {
+            Thread thread = new Thread(task, "routing-rejections");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public RoutingServer start() {
+        server.start();
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        workers.shutdown();
+        rejections.shutdown();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public LatencyHistogram routeLatency() {
+        return routeLatency;
+    }
+
+    public LatencyHistogram batchLatency() {
+        return batchLatency;
+    }
+
+    public LatencyHistogram matrixLatency() {
+        return matrixLatency;
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    // Admission counts requests waiting for a worker as well as running ones. A request over
+    // the bound is answered with 503 by the rejection threads, never by the dispatcher.
+    private final class AdmissionExecutor implements Executor {
+        @Override
+        public void execute(Runnable task) {
+            if (admission.tryAcquire()) {
+                workers.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        admission.release();
+                    }
+                });
+            } else {
+                rejected.increment();
+                rejections.execute(() -> {
+                    REJECTING.set(true);
+                    try {
+                        task.run();
+                    } finally {
+                        REJECTING.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    private interface Handler {
+        String handle(HttpExchange exchange) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try (exchange) {
+            if (REJECTING.get()) {
+                exchange.getResponseHeaders().set("Connection", "close");
+                send(exchange, 503, error("server busy"));
+                return;
+            }
+            String body;
+            try {
+                body = handler.handle(exchange);
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, error(e.getMessage()));
+                return;
+            } catch (IOException | RuntimeException e) {
+                send(exchange, 500, error(e.toString()));
+                return;
+            }
+            send(exchange, 200, body);
+        }
+    }
+
+    private static String error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, String.valueOf(message));
+        return json.append('}').toString();
+    }
+
+    // Messages can echo request input, so every string is escaped as RFC 8259 requires.
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // GET answers one pair; POST takes a batch of "source destination" lines and answers all
+    // of them against the same snapshot with one borrowed workspace.
+    private String route(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        GraphSnapshot snapshot = finder.snapshot();
+        QueryWorkspace workspace = borrowWorkspace();
+        try {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                StringBuilder json = new StringBuilder("[");
+                BufferedReader reader = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+                String line;
+                int lines = 0;
+                while ((line = reader.readLine()) != null) {
+                    if (++lines > MAX_BATCH_LINES) {
+                        throw new IllegalArgumentException("Batch exceeds " + MAX_BATCH_LINES + " lines");
+                    }
+                    String[] pair = line.trim().split("[\\s,]+");
+                    if (pair.length < 2) {
+                        continue;
+                    }
+                    if (json.length() > 1) {
+                        json.append(',');
+                    }
+                    appendRoute(json, finder.route(snapshot, parseVertex(pair[0]), parseVertex(pair[1]), workspace));
+                }
+                batchLatency.recordNanos(System.nanoTime() - start);
+                return json.append(']').toString();
+            }
+            Map<String, String> query = query(exchange.getRequestURI());
+            ShortestPathFinder.Route route = finder.route(snapshot,
+                    parseVertex(required(query, "source")), parseVertex(required(query, "destination")), workspace);
+            StringBuilder json = new StringBuilder();
+            appendRoute(json, route);
+            routeLatency.recordNanos(System.nanoTime() - start);
+            return json.toString();
+        } finally {
+            workspaces.offer(workspace);
+        }
+    }
+
+    private String matrix(HttpExchange exchange) {
+        long start = System.nanoTime();
+        Map<String, String> query = query(exchange.getRequestURI());
+        int[] sources = parseVertices(required(query, "sources"));
+        int[] targets = parseVertices(required(query, "targets"));
+        if ((long) sources.length * targets.length > MAX_MATRIX_ENTRIES) {
+            throw new IllegalArgumentException("Matrix of " + sources.length + " x " + targets.length
+                    + " exceeds " + MAX_MATRIX_ENTRIES + " entries");
+        }
+        int[] distances = finder.distanceMatrix(sources, targets);
+        StringBuilder json = new StringBuilder("{\"distances\":[");
+        for (int row = 0; row < sources.length; row++) {
+            json.append(row == 0 ? "[" : ",[");
+            for (int column = 0; column < targets.length; column++) {
+                if (column > 0) {
+                    json.append(',');
+                }
+                appendDistance(json, distances[row * targets.length + column]);
+            }
+            json.append(']');
+        }
+        matrixLatency.recordNanos(System.nanoTime() - start);
+        return json.append("]}").toString();
+    }
+
+    private String metrics(HttpExchange exchange) {
+        StringBuilder json = new StringBuilder("{\"route\":");
+        appendString(json, routeLatency.toString());
+        json.append(",\"batch\":");
+        appendString(json, batchLatency.toString());
+        json.append(",\"matrix\":");
+        appendString(json, matrixLatency.toString());
+        return json.append(",\"rejected\":").append(rejected.sum()).append(",\"inFlight\":").append(inFlight())
+                .append('}').toString();
+    }
+
+    private int inFlight() {
+        return maxPending - admission.availablePermits();
+    }
+
+    private QueryWorkspace borrowWorkspace() {
+        QueryWorkspace workspace = workspaces.poll();
+        return workspace != null ? workspace : new QueryWorkspace();
+    }
+
+    private static void appendRoute(StringBuilder json, ShortestPathFinder.Route route) {
+        json.append("{\"distance\":");
+        appendDistance(json, route.distance());
+        json.append(",\"path\":[");
+        List<Integer> path = route.path();
+        if (route.distance() != Integer.MAX_VALUE) {
+            for (int i = 0; i < path.size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(path.get(i));
+            }
+        }
+        json.append("]}");
+    }
+
+    private static void appendDistance(StringBuilder json, int distance) {
+        json.append(distance == Integer.MAX_VALUE ? "null" : Integer.toString(distance));
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> parameters = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) {
+            return parameters;
+        }
+        for (String parameter : raw.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static String required(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+        return value;
+    }
+
+    private static int parseVertex(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a vertex id: " + value);
+        }
+    }
+
+    private static int[] parseVertices(String value) {
+        String[] parts = value.split(",");
+        int[] vertices = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            vertices[i] = parseVertex(parts[i]);
+        }
+        return vertices;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RoutingServer <graph file> [port] [max pending requests]");
+            return;
+        }
+        ShortestPathFinder finder = ShortestPathFinder.load(Paths.get(args[0]));
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        int maxPending = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+        RoutingServer server = new RoutingServer(finder, new InetSocketAddress("localhost", port), maxPending).start();
+        System.out.println("Routing server listening on http://localhost:" + server.port());
+    }
+}
@@ -0,0 +1,47 @@
+package dsaprojects;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// The query has already finished when this is emitted, so its duration is carried in the
+// nanos field rather than by begin()/end(); the event itself is instant.
+@Name("dsaprojects.Search")
+@Label("Shortest Path Search")
+@Category("Routing")
+@Description("One shortest-path query with its search counters")
+final class SearchEvent extends Event {
+    @Label("Source")
+    int source;
+
+    @Label("Destination")
+    int destination;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Distance")
+    int distance;
+
+    @Label("Settled Vertices")
+    long settled;
+
+    @Label("Relaxed Arcs")
+    long relaxed;
+
+    @Label("Queue Pushes")
+    long pushes;
+
+    @Label("Queue Pops")
+    long pops;
+
+    @Label("Stale Pops")
+    long stalePops;
+
+    @Label("Query Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long nanos;
+}
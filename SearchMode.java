@@ -0,0 +1,10 @@
+package dsaprojects;
+
+public enum SearchMode {
+    DIJKSTRA,
+    BIDIRECTIONAL,
+    ASTAR,
+    ALT,
+    CONTRACTION_HIERARCHY,
+    PARTITION_OVERLAY
+}
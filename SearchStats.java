@@ -0,0 +1,125 @@
+package dsaprojects;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-query counters kept in the query workspace. Collection is switched on with
+// -Ddsaprojects.searchStats=true; ENABLED is a static final constant, so with the property
+// unset the JIT folds every counting branch away and the search loops run as before.
+public final class SearchStats {
+    public static final boolean ENABLED = Boolean.getBoolean("dsaprojects.searchStats");
+
+    private static final LongAdder QUERIES = new LongAdder();
+    private static final LongAdder TOTAL_SETTLED = new LongAdder();
+    private static final LongAdder TOTAL_RELAXED = new LongAdder();
+    private static final LongAdder TOTAL_PUSHES = new LongAdder();
+    private static final LongAdder TOTAL_POPS = new LongAdder();
+    private static final LongAdder TOTAL_STALE_POPS = new LongAdder();
+    private static final LongAdder TOTAL_NANOS = new LongAdder();
+
+    long settled;
+    long relaxed;
+    long pushes;
+    long pops;
+    long stalePops;
+    long nanos;
+
+    public long settled() {
+        return settled;
+    }
+
+    public long relaxed() {
+        return relaxed;
+    }
+
+    public long pushes() {
+        return pushes;
+    }
+
+    public long pops() {
+        return pops;
+    }
+
+    public long stalePops() {
+        return stalePops;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    void reset() {
+        settled = 0;
+        relaxed = 0;
+        pushes = 0;
+        pops = 0;
+        stalePops = 0;
+        nanos = 0;
+    }
+
+    SearchStats copy() {
+        SearchStats copy = new SearchStats();
+        copy.settled = settled;
+        copy.relaxed = relaxed;
+        copy.pushes = pushes;
+        copy.pops = pops;
+        copy.stalePops = stalePops;
+        copy.nanos = nanos;
+        return copy;
+    }
+
+    void record(int source, int destination, SearchMode mode, int distance) {
+        QUERIES.increment();
+        TOTAL_SETTLED.add(settled);
+        TOTAL_RELAXED.add(relaxed);
+        TOTAL_PUSHES.add(pushes);
+        TOTAL_POPS.add(pops);
+        TOTAL_STALE_POPS.add(stalePops);
+        TOTAL_NANOS.add(nanos);
+
+        SearchEvent event = new SearchEvent();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.destination = destination;
+            event.mode = mode.name();
+            event.distance = distance;
+            event.settled = settled;
+            event.relaxed = relaxed;
+            event.pushes = pushes;
+            event.pops = pops;
+            event.stalePops = stalePops;
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+
+    public static long recordedQueries() {
+        return QUERIES.sum();
+    }
+
+    public static SearchStats totals() {
+        SearchStats totals = new SearchStats();
+        totals.settled = TOTAL_SETTLED.sum();
+        totals.relaxed = TOTAL_RELAXED.sum();
+        totals.pushes = TOTAL_PUSHES.sum();
+        totals.pops = TOTAL_POPS.sum();
+        totals.stalePops = TOTAL_STALE_POPS.sum();
+        totals.nanos = TOTAL_NANOS.sum();
+        return totals;
+    }
+
+    public static void resetTotals() {
+        QUERIES.reset();
+        TOTAL_SETTLED.reset();
+        TOTAL_RELAXED.reset();
+        TOTAL_PUSHES.reset();
+        TOTAL_POPS.reset();
+        TOTAL_STALE_POPS.reset();
+        TOTAL_NANOS.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "settled=" + settled + " relaxed=" + relaxed + " pushes=" + pushes + " pops=" + pops
+                + " stalePops=" + stalePops + " time=" + nanos / 1000 + "us";
+    }
+}
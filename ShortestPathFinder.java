@@ -1,121 +1,910 @@
-package dsaprojects;
-
-import java.util.*;
-
-public class ShortestPathFinder {
-    private Map<Integer, List<Edge>> graph;
-
-    public ShortestPathFinder() {
-        graph = new HashMap<>();
-    }
-
-    public void addEdge(int source, int destination, int weight) {
-        graph.computeIfAbsent(source, ArrayList::new).add(new Edge(destination, weight));
-        graph.computeIfAbsent(destination, ArrayList::new).add(new Edge(source, weight));
-    }
-
-    public List<Integer> findShortestPath(int source, int destination) {
-        Map<Integer, Integer> distance = new HashMap<>();
-        Map<Integer, Integer> previous = new HashMap<>();
-        PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparingInt(Node::getDistance));
-
-        distance.put(source, 0);
-        queue.offer(new Node(source, 0));
-
-        for (int vertex : graph.keySet()) {
-            if (vertex != source) {
-                distance.put(vertex, Integer.MAX_VALUE);
-                previous.put(vertex, null);
-            }
-        }
-
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
-
-            if (current.getVertex() == destination) {
-                break;
-            }
-
-            if (current.getDistance() > distance.get(current.getVertex())) {
-                continue;
-            }
-
-            for (Edge edge : graph.get(current.getVertex())) {
-                int newDistance = distance.get(current.getVertex()) + edge.getWeight();
-
-                if (newDistance < distance.get(edge.getDestination())) {
-                    distance.put(edge.getDestination(), newDistance);
-                    previous.put(edge.getDestination(), current.getVertex());
-                    queue.offer(new Node(edge.getDestination(), newDistance));
-                }
-            }
-        }
-
-        List<Integer> path = new ArrayList<>();
-        Integer currentVertex = destination;
-        int totalDistance = distance.get(destination);
-        while (currentVertex!=null) {
-            path.add(0, currentVertex);
-            currentVertex = previous.get(currentVertex);
-        }
-        System.out.println("Total Distance: " + totalDistance);
-        return path;
-    }
-
-    public static void main(String[] args) {
-        ShortestPathFinder shortestPathFinder = new ShortestPathFinder();
-
-        shortestPathFinder.addEdge(1, 2, 7);
-        shortestPathFinder.addEdge(1, 3, 9);
-        shortestPathFinder.addEdge(1, 6, 14);
-        shortestPathFinder.addEdge(2, 3, 10);
-        shortestPathFinder.addEdge(2, 4, 15);
-        shortestPathFinder.addEdge(3, 4, 11);
-        shortestPathFinder.addEdge(3, 6, 2);
-        shortestPathFinder.addEdge(4, 5, 6);
-        shortestPathFinder.addEdge(5, 6, 9);
-        Scanner sc=new Scanner(System.in);
-        System.out.print("Enter Source: ");
-        int source = sc.nextInt();
-        System.out.print("Enter Destination: ");
-        int destination = sc.nextInt();
-        List<Integer> shortestPath = shortestPathFinder.findShortestPath(source, destination);
-        System.out.println("Shortest path from " + source + " to " + destination + ": " + shortestPath);
-    }
-
-    private static class Edge {
-        private int destination;
-        private int weight;
-
-        public Edge(int destination, int weight) {
-            this.destination = destination;
-            this.weight = weight;
-        }
-
-        public int getDestination() {
-            return destination;
-        }
-
-        public int getWeight() {
-            return weight;
-        }
-    }
-
-    private static class Node {
-        private int vertex;
-        private int distance;
-
-        public Node(int vertex, int distance) {
-            this.vertex = vertex;
-            this.distance = distance;
-        }
-
-        public int getVertex() {
-            return vertex;
-        }
-
-        public int getDistance() {
-            return distance;
-        }
-    }
-}
+package dsaprojects;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+public class ShortestPathFinder {
+    // Writers hold the finder's monitor and stage changes in either a builder or, for weight
+    // updates and removals, a private copy of the current graph. When a batch ends the writer
+    // builds the next graph and swaps in a new snapshot, so readers only ever load a finished
+    // snapshot, which is never modified.
+    private CsrGraph.Builder builder;
+    private CsrGraph draft;
+    private MultiLevelPartition draftPartition;
+    private VertexOrder order = VertexOrder.IDENTITY;
+    private boolean offHeap;
+    private volatile GraphSnapshot snapshot;
+    private long version;
+    private int batchDepth;
+    private volatile QueueType queueType = QueueType.FOUR_ARY_HEAP;
+    private volatile SearchMode searchMode = SearchMode.DIJKSTRA;
+    private VertexCoordinates draftCoordinates;
+    private volatile Heuristic heuristic = Heuristic.zero();
+    private volatile int landmarkCount = 16;
+    private volatile QueryCache queryCache;
+    private Runnable queryCacheInvalidator;
+    private volatile ShortestPathTreeCache treeCache;
+    private Runnable treeCacheInvalidator;
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private final List<DynamicShortestPathTree> maintainedTrees = new ArrayList<>();
+    // Trees are repaired against the draft as edits arrive. Builder edits have no graph to
+    // repair against yet, so added or cheaper arcs are replayed on the published graph, and
+    // anything else makes the trees recompute there.
+    private final IntList decreasedArcs = new IntList();
+    private boolean recomputeTrees;
+    private boolean treesRepaired;
+
+    public ShortestPathFinder() {
+        snapshot = new GraphSnapshot(new CsrGraph.Builder().build(), version, order, null);
+    }
+
+    public ShortestPathFinder(CsrGraph graph) {
+        this(graph, VertexOrder.IDENTITY);
+    }
+
+    private ShortestPathFinder(CsrGraph graph, VertexOrder order) {
+        this.order = order;
+        snapshot = new GraphSnapshot(graph, version, order, null);
+    }
+
+    public static ShortestPathFinder open(Path file) throws IOException {
+        GraphFile graphFile = GraphFile.open(file);
+        VertexOrder order = graphFile.vertexOrder();
+        ShortestPathFinder finder = new ShortestPathFinder(graphFile.graph(), order);
+        VertexCoordinates coordinates = graphFile.coordinates();
+        finder.snapshot.setCoordinates(coordinates == null ? null : order.toExternal(coordinates).freeze());
+        return finder;
+    }
+
+    public static ShortestPathFinder importEdgeList(Path file, EdgeListImporter.Format format) throws IOException {
+        return new ShortestPathFinder(EdgeListImporter.read(file, format));
+    }
+
+    public synchronized void save(Path file) throws IOException {
+        GraphSnapshot current = snapshot();
+        VertexOrder order = current.order();
+        VertexCoordinates coordinates = current.coordinates();
+        GraphFile.write(file, current.graph(), coordinates == null ? null : order.toInternal(coordinates), order);
+    }
+
+    // Applies the edits made by the runnable as one change: readers see all of them or none,
+    // and the next graph, the maintained trees and the change listeners are updated once. If
+    // it throws, the edits it staged are dropped. Every edit method runs as a batch of its
+    // own, which publishes a new graph, so bulk edits should be grouped here. Nested batches
+    // join the outermost one.
+    public synchronized void batch(Runnable edits) {
+        if (batchDepth > 0) {
+            edits.run();
+            return;
+        }
+        batchDepth = 1;
+        boolean completed = false;
+        try {
+            edits.run();
+            completed = true;
+        } finally {
+            batchDepth = 0;
+            if (completed) {
+                publish();
+            } else {
+                discard();
+            }
+        }
+    }
+
+    // Vertex ids are dense array indices between 0 and CsrGraph.MAX_VERTEX_ID: memory grows
+    // with the largest id in use, so sparse external ids should be renumbered by the caller.
+    public synchronized void addEdge(int source, int destination, int weight) {
+        batch(() -> {
+            int from = order.toInternal(source);
+            int to = order.toInternal(destination);
+            CsrGraph.Builder builder = builder();
+            builder.addArc(from, to, weight);
+            builder.addArc(to, from, weight);
+            arcDecreased(from, to, weight);
+            arcDecreased(to, from, weight);
+        });
+    }
+
+    public synchronized void addDirectedEdge(int source, int destination, int weight) {
+        batch(() -> {
+            int from = order.toInternal(source);
+            int to = order.toInternal(destination);
+            builder().addArc(from, to, weight);
+            arcDecreased(from, to, weight);
+        });
+    }
+
+    public synchronized void updateEdgeWeight(int source, int destination, int weight) {
+        batch(() -> {
+            int from = order.toInternal(source);
+            int to = order.toInternal(destination);
+            updateArcWeight(from, to, weight);
+            if (from != to) {
+                updateArcWeight(to, from, weight);
+            }
+        });
+    }
+
+    public synchronized void updateDirectedEdgeWeight(int source, int destination, int weight) {
+        batch(() -> updateArcWeight(order.toInternal(source), order.toInternal(destination), weight));
+    }
+
+    private void updateArcWeight(int source, int destination, int weight) {
+        int oldWeight;
+        CsrGraph copy = builder == null ? draft() : null;
+        if (copy != null) {
+            oldWeight = setArcWeight(copy, source, destination, weight);
+            CsrGraph reverse = copy.cachedReverse();
+            if (reverse != null) {
+                setArcWeight(reverse, destination, source, weight);
+            }
+        } else {
+            CsrGraph.Builder builder = builder();
+            oldWeight = builder.minWeight(source, destination);
+            builder.setWeight(source, destination, weight);
+        }
+        if (oldWeight == Integer.MAX_VALUE) {
+            throw noEdge(source, destination);
+        }
+        if (weight < oldWeight) {
+            arcDecreased(source, destination, weight);
+        } else if (weight > oldWeight) {
+            arcIncreased(source, destination);
+        }
+    }
+
+    // Both directions are removed before any tree is repaired, so the edit costs one publish.
+    public synchronized void removeEdge(int source, int destination) {
+        batch(() -> {
+            int from = order.toInternal(source);
+            int to = order.toInternal(destination);
+            removeArcs(from, to);
+            if (from != to) {
+                removeArcs(to, from);
+            }
+            arcIncreased(from, to);
+            if (from != to) {
+                arcIncreased(to, from);
+            }
+        });
+    }
+
+    public synchronized void removeDirectedEdge(int source, int destination) {
+        batch(() -> {
+            int from = order.toInternal(source);
+            int to = order.toInternal(destination);
+            removeArcs(from, to);
+            arcIncreased(from, to);
+        });
+    }
+
+    private void removeArcs(int source, int destination) {
+        int removed;
+        CsrGraph copy = builder == null ? draft() : null;
+        if (copy != null) {
+            removed = removeArcs(copy, source, destination);
+            CsrGraph reverse = copy.cachedReverse();
+            if (reverse != null) {
+                removeArcs(reverse, destination, source);
+            }
+            if (removed > 0) {
+                draftPartition = null;
+            }
+        } else {
+            removed = builder().removeArcs(source, destination);
+        }
+        if (removed == 0) {
+            throw noEdge(source, destination);
+        }
+    }
+
+    private static int removeArcs(CsrGraph graph, int source, int destination) {
+        int removed = 0;
+        if (source < 0 || source >= graph.vertexCount()) {
+            return removed;
+        }
+        for (int edge = graph.firstEdge(source); edge < graph.endEdge(source); ) {
+            if (graph.target(edge) == destination) {
+                graph.removeArc(source, edge);
+                removed++;
+            } else {
+                edge++;
+            }
+        }
+        return removed;
+    }
+
+    private IllegalArgumentException noEdge(int source, int destination) {
+        return new IllegalArgumentException("No edge from " + order.toExternal(source) + " to " + order.toExternal(destination));
+    }
+
+    // Weight updates and removals are copy-on-write: the first one after a publish copies the
+    // weight arrays, later ones patch that copy until the batch publishes it. Maintained trees
+    // are repaired through the reverse graph, so it is built once on the published graph and
+    // copied along instead of being transposed again for every draft.
+    private CsrGraph draft() {
+        if (draft == null) {
+            CsrGraph current = snapshot.graph();
+            if (!maintainedTrees.isEmpty()) {
+                current.reverse();
+            }
+            draft = current.copyForUpdates();
+            if (draft != null) {
+                draftPartition = snapshot.builtPartition();
+            }
+        }
+        return draft;
+    }
+
+    private static int setArcWeight(CsrGraph graph, int source, int destination, int weight) {
+        int oldWeight = Integer.MAX_VALUE;
+        if (source < 0 || source >= graph.vertexCount()) {
+            return oldWeight;
+        }
+        for (int edge = graph.firstEdge(source), end = graph.endEdge(source); edge < end; edge++) {
+            if (graph.target(edge) == destination) {
+                oldWeight = Math.min(oldWeight, graph.weight(edge));
+                graph.setWeight(edge, weight);
+            }
+        }
+        return oldWeight;
+    }
+
+    public synchronized DynamicShortestPathTree maintainShortestPathTree(int source) {
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(working(), source, order);
+        if (builder != null) {
+            recomputeTrees = true;
+        } else if (draft != null) {
+            treesRepaired = true;
+        }
+        maintainedTrees.add(tree);
+        return tree;
+    }
+
+    public synchronized void stopMaintaining(DynamicShortestPathTree tree) {
+        maintainedTrees.remove(tree);
+    }
+
+    private void arcDecreased(int source, int destination, int weight) {
+        if (maintainedTrees.isEmpty()) {
+            return;
+        }
+        if (builder != null) {
+            decreasedArcs.add(source);
+            decreasedArcs.add(destination);
+            decreasedArcs.add(weight);
+            return;
+        }
+        treesRepaired = true;
+        for (DynamicShortestPathTree tree : maintainedTrees) {
+            tree.arcDecreased(working(), source, destination, weight);
+        }
+    }
+
+    private void arcIncreased(int source, int destination) {
+        if (maintainedTrees.isEmpty()) {
+            return;
+        }
+        if (builder != null) {
+            recomputeTrees = true;
+            return;
+        }
+        treesRepaired = true;
+        for (DynamicShortestPathTree tree : maintainedTrees) {
+            tree.arcIncreased(working(), source, destination);
+        }
+    }
+
+    // The graph edits are applied to: the pending draft, or the published graph otherwise.
+    private CsrGraph working() {
+        return draft != null ? draft : snapshot.graph();
+    }
+
+    private void publish() {
+        if (draftCoordinates != null) {
+            snapshot.setCoordinates(draftCoordinates.freeze());
+            draftCoordinates = null;
+        }
+        if (builder == null && draft == null) {
+            return;
+        }
+        CsrGraph next;
+        if (builder != null) {
+            next = offHeap ? builder.build().toOffHeap() : builder.build();
+        } else {
+            next = draft.compacted();
+        }
+        GraphSnapshot current = new GraphSnapshot(next, ++version, order, snapshot.coordinates());
+        if (builder == null && draftPartition != null) {
+            current.reusePartition(draftPartition);
+        }
+        builder = null;
+        draft = null;
+        draftPartition = null;
+        snapshot = current;
+        for (DynamicShortestPathTree tree : maintainedTrees) {
+            if (recomputeTrees) {
+                tree.recompute(next);
+            } else {
+                for (int i = 0; i < decreasedArcs.size(); i += 3) {
+                    tree.arcDecreased(next, decreasedArcs.get(i), decreasedArcs.get(i + 1), decreasedArcs.get(i + 2));
+                }
+            }
+        }
+        decreasedArcs.clear();
+        recomputeTrees = false;
+        treesRepaired = false;
+        graphChanged();
+    }
+
+    private void discard() {
+        draftCoordinates = null;
+        builder = null;
+        draft = null;
+        draftPartition = null;
+        if (treesRepaired) {
+            for (DynamicShortestPathTree tree : maintainedTrees) {
+                tree.recompute(snapshot.graph());
+            }
+        }
+        decreasedArcs.clear();
+        recomputeTrees = false;
+        treesRepaired = false;
+    }
+
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void graphChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    public QueryCache enableQueryCache(int maxEntries, long maxVertices) {
+        disableQueryCache();
+        queryCache = new QueryCache(maxEntries, maxVertices);
+        queryCacheInvalidator = queryCache::invalidateAll;
+        addChangeListener(queryCacheInvalidator);
+        return queryCache;
+    }
+
+    public void disableQueryCache() {
+        if (queryCache != null) {
+            removeChangeListener(queryCacheInvalidator);
+            queryCache = null;
+            queryCacheInvalidator = null;
+        }
+    }
+
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    public ShortestPathTreeCache enableShortestPathTreeCache(long maxBytes, int admissionThreshold) {
+        disableShortestPathTreeCache();
+        treeCache = new ShortestPathTreeCache(maxBytes, admissionThreshold);
+        treeCacheInvalidator = treeCache::invalidateAll;
+        addChangeListener(treeCacheInvalidator);
+        return treeCache;
+    }
+
+    public void disableShortestPathTreeCache() {
+        if (treeCache != null) {
+            removeChangeListener(treeCacheInvalidator);
+            treeCache = null;
+            treeCacheInvalidator = null;
+        }
+    }
+
+    public ShortestPathTreeCache getShortestPathTreeCache() {
+        return treeCache;
+    }
+
+    public CsrGraph graph() {
+        return snapshot().graph();
+    }
+
+    public GraphSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // Renumbers the vertices so that neighbours get nearby ids, which keeps the arcs a search
+    // touches together in memory and in a saved file. Every method of this class keeps
+    // taking and returning the caller's ids; graph() and the structures built from it
+    // (hierarchy, landmarks, partition) use the new numbering, which vertexOrder() translates.
+    public synchronized VertexOrder reorderVertices(VertexOrdering ordering) {
+        if (batchDepth > 0) {
+            throw new IllegalStateException("Vertices cannot be reordered inside a batch");
+        }
+        CsrGraph current = graph();
+        VertexCoordinates coordinates = snapshot.coordinates();
+        VertexOrder step = VertexOrder.compute(current, Objects.requireNonNull(ordering),
+                coordinates == null ? null : order.toInternal(coordinates));
+        order = order.then(step);
+        snapshot = new GraphSnapshot(step.apply(current), ++version, order, coordinates);
+        for (DynamicShortestPathTree tree : maintainedTrees) {
+            tree.renumber(step, order);
+        }
+        graphChanged();
+        return order;
+    }
+
+    public VertexOrder vertexOrder() {
+        return snapshot().order();
+    }
+
+    public QueueType getQueueType() {
+        return queueType;
+    }
+
+    public void setQueueType(QueueType queueType) {
+        this.queueType = Objects.requireNonNull(queueType);
+    }
+
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    public void setSearchMode(SearchMode searchMode) {
+        this.searchMode = Objects.requireNonNull(searchMode);
+    }
+
+    // Coordinates are copy-on-write like the graph: the first change in a batch copies the
+    // installed ones, and the batch installs the copy in the snapshot. Many changes should
+    // therefore be grouped in one batch.
+    public synchronized void setCoordinates(int vertex, double x, double y) {
+        batch(() -> {
+            if (draftCoordinates == null) {
+                VertexCoordinates installed = snapshot.coordinates();
+                draftCoordinates = installed == null ? new VertexCoordinates() : installed.copy();
+            }
+            draftCoordinates.set(vertex, x, y);
+        });
+    }
+
+    // Returns the installed, read-only coordinates; a heuristic built from them keeps seeing
+    // these values after later calls to setCoordinates.
+    public VertexCoordinates getCoordinates() {
+        VertexCoordinates coordinates = snapshot().coordinates();
+        return coordinates != null ? coordinates : new VertexCoordinates().freeze();
+    }
+
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = Objects.requireNonNull(heuristic);
+    }
+
+    public ContractionHierarchy contractionHierarchy() {
+        return snapshot().contractionHierarchy();
+    }
+
+    public void setContractionHierarchy(ContractionHierarchy contractionHierarchy) {
+        snapshot().setContractionHierarchy(contractionHierarchy);
+    }
+
+    public LandmarkHeuristic landmarks() {
+        return snapshot().landmarks(landmarkCount);
+    }
+
+    public void setLandmarks(LandmarkHeuristic landmarks) {
+        snapshot().setLandmarks(Objects.requireNonNull(landmarks));
+    }
+
+    public MultiLevelPartition partition() {
+        return snapshot().partition();
+    }
+
+    public void setPartition(MultiLevelPartition partition) {
+        snapshot().setPartition(Objects.requireNonNull(partition));
+    }
+
+    public OverlayGraph overlay() {
+        return snapshot().overlay();
+    }
+
+    public void setLandmarkCount(int landmarkCount) {
+        if (landmarkCount < 1) {
+            throw new IllegalArgumentException("At least one landmark is required: " + landmarkCount);
+        }
+        this.landmarkCount = landmarkCount;
+        snapshot.setLandmarks(null);
+    }
+
+    private CsrGraph.Builder builder() {
+        if (builder == null) {
+            CsrGraph current = draft != null ? draft : snapshot.graph();
+            offHeap = current.isOffHeap();
+            builder = current.toBuilder();
+            draft = null;
+            draftPartition = null;
+        }
+        return builder;
+    }
+
+    public List<Integer> findShortestPath(int source, int destination) {
+        return findShortestPath(source, destination, QueryWorkspace.forCurrentThread());
+    }
+
+    public List<Integer> findShortestPath(int source, int destination, QueryWorkspace workspace) {
+        return findShortestPath(snapshot(), source, destination, workspace);
+    }
+
+    public List<Integer> findShortestPath(GraphSnapshot snapshot, int source, int destination, QueryWorkspace workspace) {
+        Route route = route(snapshot, source, destination, workspace);
+        System.out.println("Total Distance: " + route.distance());
+        return route.path();
+    }
+
+    public Route route(GraphSnapshot snapshot, int source, int destination, QueryWorkspace workspace) {
+        VertexOrder order = snapshot.order();
+        int from = order.toInternal(source);
+        int to = order.toInternal(destination);
+        if (!SearchStats.ENABLED) {
+            return toExternal(computeRoute(snapshot, from, to, workspace), order);
+        }
+        SearchStats stats = workspace.stats();
+        stats.reset();
+        long start = System.nanoTime();
+        Route route = toExternal(computeRoute(snapshot, from, to, workspace), order);
+        stats.nanos = System.nanoTime() - start;
+        stats.record(source, destination, searchMode, route.distance());
+        return new Route(route.path(), route.distance(), stats.copy());
+    }
+
+    private Route computeRoute(GraphSnapshot snapshot, int source, int destination, QueryWorkspace workspace) {
+        CsrGraph graph = snapshot.graph();
+        QueueType queueType = this.queueType;
+        SearchMode searchMode = this.searchMode;
+        int vertexCount = graph.vertexCount();
+        if (source < 0 || source >= vertexCount || destination < 0 || destination >= vertexCount) {
+            return unreachable(source, destination);
+        }
+
+        QueryCache cache = queryCache;
+        if (cache != null) {
+            QueryCache.Entry cached = cache.get(snapshot.version(), source, destination);
+            if (cached != null) {
+                List<Integer> path = new ArrayList<>();
+                for (int vertex : cached.path()) {
+                    path.add(vertex);
+                }
+                return new Route(path, cached.distance());
+            }
+        }
+
+        List<Integer> path = new ArrayList<>();
+        int totalDistance;
+        ShortestPathTreeCache trees = treeCache;
+        ShortestPathTreeCache.Tree tree = trees == null ? null : trees.get(snapshot.version(), source);
+        if (tree == null && trees != null && trees.shouldAdmit(source, vertexCount)) {
+            search(graph, source, -1, workspace, workspace.queue(queueType, vertexCount));
+            int[] distance = new int[vertexCount];
+            int[] previous = new int[vertexCount];
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                distance[vertex] = workspace.distance(vertex);
+                previous[vertex] = workspace.previous(vertex);
+            }
+            tree = new ShortestPathTreeCache.Tree(source, distance, previous);
+            trees.put(snapshot.version(), tree);
+        }
+
+        if (tree != null) {
+            for (int vertex = destination; vertex != -1; vertex = tree.previous(vertex)) {
+                path.add(vertex);
+            }
+            Collections.reverse(path);
+            totalDistance = tree.distance(destination);
+        } else if (searchMode == SearchMode.BIDIRECTIONAL) {
+            QueryWorkspace backward = workspace.backward();
+            BidirectionalSearch search = new BidirectionalSearch(graph, workspace, backward);
+            int meeting = search.search(source, destination,
+                    workspace.queue(queueType, vertexCount), backward.queue(queueType, vertexCount));
+            if (meeting == -1) {
+                path.add(destination);
+                totalDistance = Integer.MAX_VALUE;
+            } else {
+                appendPath(path, workspace, meeting);
+                for (int vertex = backward.previous(meeting); vertex != -1; vertex = backward.previous(vertex)) {
+                    path.add(vertex);
+                }
+                totalDistance = search.distance();
+            }
+        } else if (searchMode == SearchMode.CONTRACTION_HIERARCHY) {
+            ContractionHierarchy hierarchy = snapshot.contractionHierarchy();
+            int meeting = hierarchy.search(source, destination, workspace, workspace.backward());
+            if (meeting == -1) {
+                path.add(destination);
+                totalDistance = Integer.MAX_VALUE;
+            } else {
+                hierarchy.appendPath(path, meeting, workspace);
+                totalDistance = workspace.distance(meeting) + workspace.backward().distance(meeting);
+            }
+        } else if (searchMode == SearchMode.PARTITION_OVERLAY) {
+            OverlayGraph overlay = snapshot.overlay();
+            int meeting = overlay.search(source, destination, workspace, workspace.backward());
+            if (meeting == -1) {
+                path.add(destination);
+                totalDistance = Integer.MAX_VALUE;
+            } else {
+                totalDistance = workspace.distance(meeting) + workspace.backward().distance(meeting);
+                overlay.appendPath(path, meeting, workspace);
+            }
+        } else if (searchMode == SearchMode.ASTAR || searchMode == SearchMode.ALT) {
+            Heuristic estimate = searchMode == SearchMode.ALT ? snapshot.landmarks(landmarkCount)
+                    : snapshot.order().toInternal(heuristic);
+            // Coordinate heuristics fall back to 0 for vertices without a position, so keys can
+            // drop below the last one polled; the radix heap cannot take that.
+            QueueType aStarQueue = queueType.requiresMonotoneKeys() ? QueueType.FOUR_ARY_HEAP : queueType;
+            totalDistance = searchAStar(graph, source, destination, estimate, workspace, workspace.queue(aStarQueue, vertexCount));
+            appendPath(path, workspace, destination);
+        } else {
+            totalDistance = search(graph, source, destination, workspace, workspace.queue(queueType, vertexCount));
+            appendPath(path, workspace, destination);
+        }
+        if (cache != null) {
+            cache.put(snapshot.version(), source, destination, path, totalDistance);
+        }
+        return new Route(path, totalDistance);
+    }
+
+    private static Route toExternal(Route route, VertexOrder order) {
+        if (!order.isIdentity()) {
+            route.path().replaceAll(order::toExternal);
+        }
+        return route;
+    }
+
+    private static void appendPath(List<Integer> path, QueryWorkspace workspace, int last) {
+        int start = path.size();
+        for (int vertex = last; vertex != -1; vertex = workspace.previous(vertex)) {
+            path.add(vertex);
+        }
+        Collections.reverse(path.subList(start, path.size()));
+    }
+
+    public int[] distanceMatrix(int[] sources, int[] targets) {
+        return distanceMatrix(sources, targets, ForkJoinPool.commonPool());
+    }
+
+    public int[] distanceMatrix(int[] sources, int[] targets, ForkJoinPool pool) {
+        GraphSnapshot current = snapshot();
+        VertexOrder order = current.order();
+        return DistanceMatrix.compute(current.graph(), order.toInternal(sources), order.toInternal(targets), queueType, pool);
+    }
+
+    public ReachableSet reachableWithin(int source, int limit) {
+        return reachableWithin(source, limit, QueryWorkspace.forCurrentThread());
+    }
+
+    public ReachableSet reachableWithin(int source, int limit, QueryWorkspace workspace) {
+        GraphSnapshot current = snapshot();
+        VertexOrder order = current.order();
+        return RangeQuery.reachable(current.graph(), order.toInternal(source), limit, queueType, workspace).toExternal(order);
+    }
+
+    public ReachableSet[] reachableWithin(int[] sources, int limit) {
+        return reachableWithin(sources, limit, ForkJoinPool.commonPool());
+    }
+
+    public ReachableSet[] reachableWithin(int[] sources, int limit, ForkJoinPool pool) {
+        GraphSnapshot current = snapshot();
+        VertexOrder order = current.order();
+        ReachableSet[] sets = RangeQuery.reachable(current.graph(), order.toInternal(sources), limit, queueType, pool);
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = sets[i].toExternal(order);
+        }
+        return sets;
+    }
+
+    public List<Route> kShortestPaths(int source, int destination, int k) {
+        return kShortestPaths(source, destination, k, ForkJoinPool.commonPool());
+    }
+
+    public List<Route> kShortestPaths(int source, int destination, int k, ForkJoinPool pool) {
+        GraphSnapshot current = snapshot();
+        VertexOrder order = current.order();
+        List<Route> routes = KShortestPaths.find(current.graph(), order.toInternal(source), order.toInternal(destination), k, pool);
+        for (Route route : routes) {
+            toExternal(route, order);
+        }
+        return routes;
+    }
+
+    // Indexed by the caller's vertex ids.
+    public int[] shortestDistancesFrom(int source) {
+        GraphSnapshot current = snapshot();
+        VertexOrder order = current.order();
+        return order.toExternalIndex(DeltaStepping.shortestDistances(current.graph(), order.toInternal(source)));
+    }
+
+    static int search(CsrGraph graph, int source, int destination, QueryWorkspace workspace, VertexQueue queue) {
+        SearchStats stats = workspace.stats();
+        workspace.reset(graph.vertexCount());
+        workspace.update(source, 0, -1);
+        queue.push(source, 0);
+        if (SearchStats.ENABLED) {
+            stats.pushes++;
+        }
+
+        while (!queue.isEmpty()) {
+            int key = queue.minKey();
+            int vertex = queue.poll();
+            if (SearchStats.ENABLED) {
+                stats.pops++;
+            }
+
+            if (vertex == destination) {
+                break;
+            }
+
+            int vertexDistance = workspace.distance(vertex);
+            if (key > vertexDistance) {
+                if (SearchStats.ENABLED) {
+                    stats.stalePops++;
+                }
+                continue;
+            }
+
+            int edge = graph.firstEdge(vertex);
+            int end = graph.endEdge(vertex);
+            if (SearchStats.ENABLED) {
+                stats.settled++;
+                stats.relaxed += end - edge;
+            }
+            for (; edge < end; edge++) {
+                int target = graph.target(edge);
+                int newDistance = vertexDistance + graph.weight(edge);
+
+                if (newDistance < workspace.distance(target)) {
+                    workspace.update(target, newDistance, vertex);
+                    queue.push(target, newDistance);
+                    if (SearchStats.ENABLED) {
+                        stats.pushes++;
+                    }
+                }
+            }
+        }
+        return destination == -1 ? Integer.MAX_VALUE : workspace.distance(destination);
+    }
+
+    static int searchAStar(CsrGraph graph, int source, int destination, Heuristic heuristic,
+                           QueryWorkspace workspace, VertexQueue queue) {
+        SearchStats stats = workspace.stats();
+        workspace.reset(graph.vertexCount());
+        workspace.update(source, 0, -1);
+        int sourceEstimate = heuristic.estimate(source, destination);
+        if (sourceEstimate != Integer.MAX_VALUE) {
+            queue.push(source, sourceEstimate);
+            if (SearchStats.ENABLED) {
+                stats.pushes++;
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int key = queue.minKey();
+            int vertex = queue.poll();
+            if (SearchStats.ENABLED) {
+                stats.pops++;
+            }
+
+            if (vertex == destination) {
+                break;
+            }
+
+            int vertexDistance = workspace.distance(vertex);
+            if (key - heuristic.estimate(vertex, destination) > vertexDistance) {
+                if (SearchStats.ENABLED) {
+                    stats.stalePops++;
+                }
+                continue;
+            }
+
+            int edge = graph.firstEdge(vertex);
+            int end = graph.endEdge(vertex);
+            if (SearchStats.ENABLED) {
+                stats.settled++;
+                stats.relaxed += end - edge;
+            }
+            for (; edge < end; edge++) {
+                int target = graph.target(edge);
+                int newDistance = vertexDistance + graph.weight(edge);
+
+                if (newDistance < workspace.distance(target)) {
+                    int estimate = heuristic.estimate(target, destination);
+                    workspace.update(target, newDistance, vertex);
+                    if (estimate != Integer.MAX_VALUE) {
+                        queue.push(target, newDistance + estimate);
+                        if (SearchStats.ENABLED) {
+                            stats.pushes++;
+                        }
+                    }
+                }
+            }
+        }
+        return workspace.distance(destination);
+    }
+
+    private static Route unreachable(int source, int destination) {
+        List<Integer> path = new ArrayList<>();
+        path.add(destination);
+        return new Route(path, source == destination ? 0 : Integer.MAX_VALUE);
+    }
+
+    public static final class Route {
+        private final List<Integer> path;
+        private final int distance;
+        private final SearchStats stats;
+
+        Route(List<Integer> path, int distance) {
+            this(path, distance, null);
+        }
+
+        Route(List<Integer> path, int distance, SearchStats stats) {
+            this.path = path;
+            this.distance = distance;
+            this.stats = stats;
+        }
+
+        public List<Integer> path() {
+            return path;
+        }
+
+        public int distance() {
+            return distance;
+        }
+
+        // Null unless search statistics are enabled.
+        public SearchStats stats() {
+            return stats;
+        }
+    }
+
+    static ShortestPathFinder load(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".gr")) {
+            return importEdgeList(file, EdgeListImporter.Format.DIMACS);
+        } else if (name.endsWith(".csv")) {
+            return importEdgeList(file, EdgeListImporter.Format.CSV);
+        }
+        return open(file);
+    }
+
+    public static void main(String[] args) throws IOException {
+        ShortestPathFinder shortestPathFinder;
+        if (args.length > 0) {
+            shortestPathFinder = load(Paths.get(args[0]));
+        } else {
+            shortestPathFinder = new ShortestPathFinder();
+            shortestPathFinder.addEdge(1, 2, 7);
+            shortestPathFinder.addEdge(1, 3, 9);
+            shortestPathFinder.addEdge(1, 6, 14);
+            shortestPathFinder.addEdge(2, 3, 10);
+            shortestPathFinder.addEdge(2, 4, 15);
+            shortestPathFinder.addEdge(3, 4, 11);
+            shortestPathFinder.addEdge(3, 6, 2);
+            shortestPathFinder.addEdge(4, 5, 6);
+            shortestPathFinder.addEdge(5, 6, 9);
+        }
+        Scanner sc=new Scanner(System.in);
+        System.out.print("Enter Source: ");
+        int source = sc.nextInt();
+        System.out.print("Enter Destination: ");
+        int destination = sc.nextInt();
+        List<Integer> shortestPath = shortestPathFinder.findShortestPath(source, destination);
+        System.out.println("Shortest path from " + source + " to " + destination + ": " + shortestPath);
+    }
+}
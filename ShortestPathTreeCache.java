@@ -0,0 +1,152 @@
+package dsaprojects;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ShortestPathTreeCache {
+    private final long maxBytes;
+    private final int admissionThreshold;
+    private final Map<Integer, Tree> trees = new HashMap<>();
+    private int[] frequencies = new int[0];
+    private long cachedBytes;
+    private long version;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ShortestPathTreeCache(long maxBytes, int admissionThreshold) {
+        if (maxBytes < 1 || admissionThreshold < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive: " + maxBytes + ", " + admissionThreshold);
+        }
+        this.maxBytes = maxBytes;
+        this.admissionThreshold = admissionThreshold;
+    }
+
+    public synchronized Tree get(int source) {
+        if (source >= frequencies.length) {
+            frequencies = Arrays.copyOf(frequencies, Math.max(source + 1, frequencies.length * 2));
+        }
+        if (frequencies[source] < Integer.MAX_VALUE) {
+            frequencies[source]++;
+        }
+        Tree tree = trees.get(source);
+        if (tree == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return tree;
+    }
+
+    synchronized Tree get(long version, int source) {
+        boolean current = advanceTo(version);
+        Tree tree = get(source);
+        return current ? tree : null;
+    }
+
+    synchronized void put(long version, Tree tree) {
+        if (advanceTo(version)) {
+            put(tree);
+        }
+    }
+
+    private boolean advanceTo(long version) {
+        if (version > this.version) {
+            invalidateAll();
+            this.version = version;
+        }
+        return version == this.version;
+    }
+
+    public synchronized boolean shouldAdmit(int source, int vertexCount) {
+        int frequency = source < frequencies.length ? frequencies[source] : 0;
+        long bytes = Tree.bytes(vertexCount);
+        if (frequency < admissionThreshold || bytes > maxBytes) {
+            return false;
+        }
+        if (cachedBytes + bytes <= maxBytes) {
+            return true;
+        }
+        Tree coldest = coldest();
+        return coldest != null && frequencies[coldest.source] < frequency;
+    }
+
+    public synchronized void put(Tree tree) {
+        Tree previous = trees.put(tree.source, tree);
+        if (previous != null) {
+            cachedBytes -= previous.bytes();
+        }
+        cachedBytes += tree.bytes();
+        while (cachedBytes > maxBytes) {
+            Tree coldest = coldest();
+            trees.remove(coldest.source);
+            cachedBytes -= coldest.bytes();
+            evictions.increment();
+        }
+    }
+
+    private Tree coldest() {
+        Tree coldest = null;
+        for (Tree tree : trees.values()) {
+            if (coldest == null || frequencies[tree.source] < frequencies[coldest.source]) {
+                coldest = tree;
+            }
+        }
+        return coldest;
+    }
+
+    public synchronized void invalidateAll() {
+        trees.clear();
+        cachedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return trees.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public static final class Tree {
+        private final int source;
+        private final int[] distance;
+        private final int[] previous;
+
+        Tree(int source, int[] distance, int[] previous) {
+            this.source = source;
+            this.distance = distance;
+            this.previous = previous;
+        }
+
+        static long bytes(int vertexCount) {
+            return 8L * vertexCount + 64;
+        }
+
+        long bytes() {
+            return bytes(distance.length);
+        }
+
+        public int source() {
+            return source;
+        }
+
+        public int distance(int vertex) {
+            return distance[vertex];
+        }
+
+        public int previous(int vertex) {
+            return previous[vertex];
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package dsaprojects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Travel times that depend on the departure time, layered over a static CsrGraph. Each arc
+// either keeps its static weight or has a piecewise-linear travel-time function. All
+// breakpoints live in two shared arrays sliced by a per-arc offset, so an arc without a
+// function costs one int. Before the first and after the last breakpoint the travel time is
+// constant. Functions must be FIFO: departing later never means arriving earlier, which
+// is what makes Dijkstra on arrival times exact.
+public final class TimeDependentGraph {
+    private final CsrGraph graph;
+    private final int[] functionStart;
+    private final int[] departureTimes;
+    private final int[] travelTimes;
+
+    private TimeDependentGraph(CsrGraph graph, int[] functionStart, int[] departureTimes, int[] travelTimes) {
+        this.graph = graph;
+        this.functionStart = functionStart;
+        this.departureTimes = departureTimes;
+        this.travelTimes = travelTimes;
+    }
+
+    public static Builder builder(CsrGraph graph) {
+        return new Builder(graph);
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    public int travelTime(int edge, int departure) {
+        int from = functionStart[edge];
+        int to = functionStart[edge + 1];
+        return from == to ? graph.weight(edge) : interpolate(departureTimes, travelTimes, from, to, departure);
+    }
+
+    static int interpolate(int[] xs, int[] ys, int from, int to, int x) {
+        if (x <= xs[from]) {
+            return ys[from];
+        }
+        if (x >= xs[to - 1]) {
+            return ys[to - 1];
+        }
+        int index = Arrays.binarySearch(xs, from, to, x);
+        if (index >= 0) {
+            return ys[index];
+        }
+        int right = -index - 1;
+        int left = right - 1;
+        long span = (long) xs[right] - xs[left];
+        return (int) (ys[left] + Math.floorDiv(((long) ys[right] - ys[left]) * ((long) x - xs[left]), span));
+    }
+
+    public int earliestArrival(int source, int destination, int departure) {
+        return earliestArrival(source, destination, departure, QueryWorkspace.forCurrentThread());
+    }
+
+    // Time-dependent Dijkstra: labels are arrival times, and an arc is evaluated at the time
+    // its tail is reached. Returns Integer.MAX_VALUE if the destination cannot be reached.
+    public int earliestArrival(int source, int destination, int departure, QueryWorkspace workspace) {
+        int vertexCount = graph.vertexCount();
+        if (source < 0 || source >= vertexCount || destination < 0 || destination >= vertexCount) {
+            return source == destination ? departure : Integer.MAX_VALUE;
+        }
+        VertexQueue queue = workspace.queue(QueueType.FOUR_ARY_HEAP, vertexCount);
+        workspace.reset(vertexCount);
+        workspace.update(source, departure, -1);
+        queue.push(source, departure);
+        while (!queue.isEmpty()) {
+            int key = queue.minKey();
+            int vertex = queue.poll();
+            if (vertex == destination) {
+                break;
+            }
+            int time = workspace.distance(vertex);
+            if (key > time) {
+                continue;
+            }
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++) {
+                int target = graph.target(edge);
+                long arrival = (long) time + travelTime(edge, time);
+                if (arrival < workspace.distance(target)) {
+                    workspace.update(target, (int) arrival, vertex);
+                    queue.push(target, (int) arrival);
+                }
+            }
+        }
+        return workspace.distance(destination);
+    }
+
+    public List<Integer> earliestArrivalPath(int source, int destination, int departure, QueryWorkspace workspace) {
+        List<Integer> path = new ArrayList<>();
+        if (earliestArrival(source, destination, departure, workspace) == Integer.MAX_VALUE) {
+            return path;
+        }
+        for (int vertex = destination; vertex != -1; vertex = workspace.previous(vertex)) {
+            path.add(vertex);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // Arrival time as a function of departure over [earliest, latest], sampled at every
+    // resolution step and at latest. Stopping early where a midpoint happens to match linear
+    // interpolation is not sound: a breakpoint pair can bend the function and bend it back
+    // between two samples that still line up. Samples that lie on the line through their
+    // neighbours are dropped, so straight stretches keep only their ends. The profile is
+    // exact at every sampled departure; between samples it interpolates.
+    public ArrivalProfile profile(int source, int destination, int earliest, int latest, int resolution) {
+        if (earliest > latest || resolution < 1) {
+            throw new IllegalArgumentException("Invalid departure window [" + earliest + ", " + latest
+                    + "] or resolution " + resolution);
+        }
+        QueryWorkspace workspace = QueryWorkspace.forCurrentThread();
+        IntList departures = new IntList();
+        IntList arrivals = new IntList();
+        long departure = earliest;
+        while (true) {
+            int arrival = earliestArrival(source, destination, (int) departure, workspace);
+            int size = departures.size();
+            if (size >= 2 && collinear(departures.get(size - 2), arrivals.get(size - 2), departures.get(size - 1),
+                    arrivals.get(size - 1), (int) departure, arrival)) {
+                departures.removeLast();
+                arrivals.removeLast();
+            }
+            departures.add((int) departure);
+            arrivals.add(arrival);
+            if (departure == latest) {
+                break;
+            }
+            departure = Math.min(departure + resolution, latest);
+        }
+        return new ArrivalProfile(departures.toArray(), arrivals.toArray());
+    }
+
+    // True if the middle sample is exactly what ArrivalProfile interpolates between the outer
+    // two, so dropping it loses nothing.
+    private static boolean collinear(int leftDeparture, int leftArrival, int middleDeparture, int middleArrival,
+                                     int rightDeparture, int rightArrival) {
+        if (leftArrival == Integer.MAX_VALUE || middleArrival == Integer.MAX_VALUE || rightArrival == Integer.MAX_VALUE) {
+            return leftArrival == middleArrival && middleArrival == rightArrival;
+        }
+        return ((long) middleArrival - leftArrival) * ((long) rightDeparture - middleDeparture)
+                == ((long) rightArrival - middleArrival) * ((long) middleDeparture - leftDeparture);
+    }
+
+    public static final class Builder {
+        private final CsrGraph graph;
+        private final int[][] departures;
+        private final int[][] durations;
+
+        private Builder(CsrGraph graph) {
+            this.graph = graph;
+            this.departures = new int[graph.edgeCount()][];
+            this.durations = new int[graph.edgeCount()][];
+        }
+
+        public Builder setTravelTimes(int source, int target, int[] departureTimes, int[] travelTimes) {
+            validate(departureTimes, travelTimes);
+            boolean found = false;
+            if (source >= 0 && source < graph.vertexCount()) {
+                for (int edge = graph.firstEdge(source), end = graph.endEdge(source); edge < end; edge++) {
+                    if (graph.target(edge) == target) {
+                        departures[edge] = departureTimes.clone();
+                        durations[edge] = travelTimes.clone();
+                        found = true;
+                    }
+                }
+            }
+            if (!found) {
+                throw new IllegalArgumentException("No edge from " + source + " to " + target);
+            }
+            return this;
+        }
+
+        private static void validate(int[] departureTimes, int[] travelTimes) {
+            if (departureTimes.length == 0 || departureTimes.length != travelTimes.length) {
+                throw new IllegalArgumentException("Travel-time functions need matching, non-empty breakpoint arrays");
+            }
+            for (int i = 0; i < departureTimes.length; i++) {
+                if (travelTimes[i] < 0) {
+                    throw new IllegalArgumentException("Negative travel time at breakpoint " + i);
+                }
+                if (i > 0) {
+                    if (departureTimes[i] <= departureTimes[i - 1]) {
+                        throw new IllegalArgumentException("Breakpoints must be strictly increasing at " + i);
+                    }
+                    long arrivalBefore = (long) departureTimes[i - 1] + travelTimes[i - 1];
+                    long arrivalAfter = (long) departureTimes[i] + travelTimes[i];
+                    if (arrivalAfter < arrivalBefore) {
+                        throw new IllegalArgumentException("Travel-time function violates FIFO at breakpoint " + i);
+                    }
+                }
+            }
+        }
+
+        public TimeDependentGraph build() {
+            int edgeCount = graph.edgeCount();
+            int[] functionStart = new int[edgeCount + 1];
+            for (int edge = 0; edge < edgeCount; edge++) {
+                functionStart[edge + 1] = functionStart[edge] + (departures[edge] == null ? 0 : departures[edge].length);
+            }
+            int[] departureTimes = new int[functionStart[edgeCount]];
+            int[] travelTimes = new int[functionStart[edgeCount]];
+            for (int edge = 0; edge < edgeCount; edge++) {
+                if (departures[edge] != null) {
+                    System.arraycopy(departures[edge], 0, departureTimes, functionStart[edge], departures[edge].length);
+                    System.arraycopy(durations[edge], 0, travelTimes, functionStart[edge], durations[edge].length);
+                }
+            }
+            return new TimeDependentGraph(graph, functionStart, departureTimes, travelTimes);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dsaprojects;
+
+import java.util.Arrays;
+
+public final class VertexCoordinates {
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private boolean readOnly;
+
+    public void set(int vertex, double x, double y) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Coordinates installed in a finder are read-only");
+        }
+        if (vertex < 0) {
+            throw new IllegalArgumentException("Vertex ids must be non-negative: " + vertex);
+        }
+        if (vertex >= xs.length) {
+            int oldLength = xs.length;
+            int capacity = Math.max(vertex + 1, oldLength * 2);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            Arrays.fill(xs, oldLength, capacity, Double.NaN);
+            Arrays.fill(ys, oldLength, capacity, Double.NaN);
+        }
+        xs[vertex] = x;
+        ys[vertex] = y;
+    }
+
+    public boolean has(int vertex) {
+        return vertex < xs.length && !Double.isNaN(xs[vertex]);
+    }
+
+    public double x(int vertex) {
+        return vertex < xs.length ? xs[vertex] : Double.NaN;
+    }
+
+    public double y(int vertex) {
+        return vertex < ys.length ? ys[vertex] : Double.NaN;
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    VertexCoordinates copy() {
+        VertexCoordinates copy = new VertexCoordinates();
+        copy.xs = xs.clone();
+        copy.ys = ys.clone();
+        return copy;
+    }
+
+    // Query threads read installed coordinates without locking, so they must not change.
+    VertexCoordinates freeze() {
+        readOnly = true;
+        return this;
+    }
+}
@@ -0,0 +1,297 @@
+package dsaprojects;
+
+import java.util.Arrays;
+
+// Translation between the vertex ids callers use (external) and the positions of those
+// vertices in a renumbered graph (internal). Ids beyond the tables map to themselves, so
+// vertices added after renumbering keep the id they were added with.
+public final class VertexOrder {
+    public static final VertexOrder IDENTITY = new VertexOrder(new int[0], new int[0]);
+
+    private static final int HILBERT_SIDE = 1 << 15;
+
+    private final int[] toInternal;
+    private final int[] toExternal;
+
+    private VertexOrder(int[] toInternal, int[] toExternal) {
+        this.toInternal = toInternal;
+        this.toExternal = toExternal;
+    }
+
+    // externalIds[i] is the external id of internal vertex i.
+    static VertexOrder fromExternalIds(int[] externalIds) {
+        int[] toInternal = new int[externalIds.length];
+        Arrays.fill(toInternal, -1);
+        for (int vertex = 0; vertex < externalIds.length; vertex++) {
+            int external = externalIds[vertex];
+            if (external < 0 || external >= externalIds.length || toInternal[external] != -1) {
+                throw new IllegalArgumentException("Not a permutation: id " + external + " at position " + vertex);
+            }
+            toInternal[external] = vertex;
+        }
+        return new VertexOrder(toInternal, externalIds);
+    }
+
+    public static VertexOrder compute(CsrGraph graph, VertexOrdering ordering, VertexCoordinates coordinates) {
+        switch (ordering) {
+            case BREADTH_FIRST:
+                return fromExternalIds(traversal(graph, false));
+            case REVERSE_CUTHILL_MCKEE:
+                int[] order = traversal(graph, true);
+                for (int i = 0, j = order.length - 1; i < j; i++, j--) {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                }
+                return fromExternalIds(order);
+            case HILBERT_CURVE:
+                return fromExternalIds(hilbert(graph.vertexCount(), coordinates));
+            default:
+                throw new IllegalArgumentException("Unknown ordering " + ordering);
+        }
+    }
+
+    public boolean isIdentity() {
+        return toInternal.length == 0;
+    }
+
+    public int size() {
+        return toInternal.length;
+    }
+
+    public int toInternal(int external) {
+        return external >= 0 && external < toInternal.length ? toInternal[external] : external;
+    }
+
+    public int toExternal(int internal) {
+        return internal >= 0 && internal < toExternal.length ? toExternal[internal] : internal;
+    }
+
+    int[] toInternal(int[] externals) {
+        if (isIdentity()) {
+            return externals;
+        }
+        int[] internals = new int[externals.length];
+        for (int i = 0; i < externals.length; i++) {
+            internals[i] = toInternal(externals[i]);
+        }
+        return internals;
+    }
+
+    // values is indexed by internal id; the result by external id.
+    int[] toExternalIndex(int[] values) {
+        if (isIdentity()) {
+            return values;
+        }
+        int[] result = new int[values.length];
+        for (int vertex = 0; vertex < values.length; vertex++) {
+            result[toExternal(vertex)] = values[vertex];
+        }
+        return result;
+    }
+
+    // values is indexed by id before this order was applied; the result by id after it, with
+    // fill wherever the input was too short.
+    int[] permute(int[] values, int fill) {
+        int[] result = new int[Math.max(values.length, toInternal.length)];
+        Arrays.fill(result, fill);
+        for (int vertex = 0; vertex < values.length; vertex++) {
+            result[toInternal(vertex)] = values[vertex];
+        }
+        return result;
+    }
+
+    Heuristic toInternal(Heuristic heuristic) {
+        if (isIdentity()) {
+            return heuristic;
+        }
+        return (vertex, target) -> heuristic.estimate(toExternal(vertex), toExternal(target));
+    }
+
+    VertexCoordinates toInternal(VertexCoordinates coordinates) {
+        if (isIdentity()) {
+            return coordinates;
+        }
+        VertexCoordinates internal = new VertexCoordinates();
+        for (int vertex = 0; vertex < coordinates.size(); vertex++) {
+            if (coordinates.has(vertex)) {
+                internal.set(toInternal(vertex), coordinates.x(vertex), coordinates.y(vertex));
+            }
+        }
+        return internal;
+    }
+
+    VertexCoordinates toExternal(VertexCoordinates coordinates) {
+        if (isIdentity()) {
+            return coordinates;
+        }
+        VertexCoordinates external = new VertexCoordinates();
+        for (int vertex = 0; vertex < coordinates.size(); vertex++) {
+            if (coordinates.has(vertex)) {
+                external.set(toExternal(vertex), coordinates.x(vertex), coordinates.y(vertex));
+            }
+        }
+        return external;
+    }
+
+    // The order that first applies this one and then next, which was computed on the graph
+    // this one produced.
+    VertexOrder then(VertexOrder next) {
+        int size = Math.max(toInternal.length, next.toInternal.length);
+        int[] externalIds = new int[size];
+        for (int vertex = 0; vertex < size; vertex++) {
+            externalIds[vertex] = toExternal(next.toExternal(vertex));
+        }
+        return fromExternalIds(externalIds);
+    }
+
+    // Renumbers the graph so that internal vertex i is the vertex with external id
+    // toExternal(i); each vertex keeps its arcs in their original order.
+    public CsrGraph apply(CsrGraph graph) {
+        int vertexCount = graph.vertexCount();
+        int[] offsets = new int[vertexCount + 1];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int original = toExternal(vertex);
+            offsets[vertex + 1] = offsets[vertex] + graph.endEdge(original) - graph.firstEdge(original);
+        }
+        int[] targets = new int[graph.edgeCount()];
+        int[] weights = new int[graph.edgeCount()];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int original = toExternal(vertex);
+            int slot = offsets[vertex];
+            for (int edge = graph.firstEdge(original), end = graph.endEdge(original); edge < end; edge++, slot++) {
+                targets[slot] = toInternal(graph.target(edge));
+                weights[slot] = graph.weight(edge);
+            }
+        }
+        CsrGraph renumbered = CsrGraph.of(offsets, targets, weights);
+        return graph.isOffHeap() ? renumbered.toOffHeap() : renumbered;
+    }
+
+    // Breadth-first numbering over arcs in both directions, one component at a time, each
+    // started from a pseudo-peripheral vertex so the levels stay narrow. With byDegree set,
+    // neighbours are numbered lowest degree first, as Cuthill-McKee does.
+    private static int[] traversal(CsrGraph graph, boolean byDegree) {
+        int vertexCount = graph.vertexCount();
+        CsrGraph reverse = graph.reverse();
+        CsrGraph[] directions = {graph, reverse};
+        int[] order = new int[vertexCount];
+        int[] probed = new int[vertexCount];
+        boolean[] placed = new boolean[vertexCount];
+        long[] neighbours = new long[0];
+        int count = 0;
+        for (int seed = 0; seed < vertexCount; seed++) {
+            if (placed[seed]) {
+                continue;
+            }
+            int tail = count;
+            probed[seed] = seed + 1;
+            order[tail++] = seed;
+            for (int head = count; head < tail; head++) {
+                int vertex = order[head];
+                for (CsrGraph arcs : directions) {
+                    for (int edge = arcs.firstEdge(vertex), end = arcs.endEdge(vertex); edge < end; edge++) {
+                        int target = arcs.target(edge);
+                        if (probed[target] != seed + 1) {
+                            probed[target] = seed + 1;
+                            order[tail++] = target;
+                        }
+                    }
+                }
+            }
+
+            int start = order[tail - 1];
+            tail = count;
+            placed[start] = true;
+            order[tail++] = start;
+            for (int head = count; head < tail; head++) {
+                int vertex = order[head];
+                int first = tail;
+                for (CsrGraph arcs : directions) {
+                    for (int edge = arcs.firstEdge(vertex), end = arcs.endEdge(vertex); edge < end; edge++) {
+                        int target = arcs.target(edge);
+                        if (!placed[target]) {
+                            placed[target] = true;
+                            order[tail++] = target;
+                        }
+                    }
+                }
+                if (byDegree && tail - first > 1) {
+                    if (neighbours.length < tail - first) {
+                        neighbours = new long[tail - first];
+                    }
+                    for (int i = first; i < tail; i++) {
+                        neighbours[i - first] = (long) degree(graph, reverse, order[i]) << 32 | order[i];
+                    }
+                    Arrays.sort(neighbours, 0, tail - first);
+                    for (int i = first; i < tail; i++) {
+                        order[i] = (int) neighbours[i - first];
+                    }
+                }
+            }
+            count = tail;
+        }
+        return order;
+    }
+
+    private static int degree(CsrGraph graph, CsrGraph reverse, int vertex) {
+        return graph.endEdge(vertex) - graph.firstEdge(vertex) + reverse.endEdge(vertex) - reverse.firstEdge(vertex);
+    }
+
+    // Vertices sorted along a Hilbert curve over their bounding box; those without
+    // coordinates go last, in id order.
+    private static int[] hilbert(int vertexCount, VertexCoordinates coordinates) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int vertex = 0; coordinates != null && vertex < vertexCount; vertex++) {
+            if (coordinates.has(vertex)) {
+                minX = Math.min(minX, coordinates.x(vertex));
+                minY = Math.min(minY, coordinates.y(vertex));
+                maxX = Math.max(maxX, coordinates.x(vertex));
+                maxY = Math.max(maxY, coordinates.y(vertex));
+            }
+        }
+        if (minX > maxX) {
+            throw new IllegalArgumentException("Hilbert ordering needs vertex coordinates");
+        }
+        double scaleX = maxX > minX ? (HILBERT_SIDE - 1) / (maxX - minX) : 0;
+        double scaleY = maxY > minY ? (HILBERT_SIDE - 1) / (maxY - minY) : 0;
+        long[] keys = new long[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            long index = 1L << 30;
+            if (coordinates.has(vertex)) {
+                int x = (int) ((coordinates.x(vertex) - minX) * scaleX);
+                int y = (int) ((coordinates.y(vertex) - minY) * scaleY);
+                index = hilbertIndex(x, y);
+            }
+            keys[vertex] = index << 32 | vertex;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    static long hilbertIndex(int x, int y) {
+        long index = 0;
+        for (int s = HILBERT_SIDE / 2; s > 0; s /= 2) {
+            int rx = (x & s) != 0 ? 1 : 0;
+            int ry = (y & s) != 0 ? 1 : 0;
+            index += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = HILBERT_SIDE - 1 - x;
+                    y = HILBERT_SIDE - 1 - y;
+                }
+                int swap = x;
+                x = y;
+                y = swap;
+            }
+        }
+        return index;
+    }
+}
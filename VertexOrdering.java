@@ -0,0 +1,7 @@
+package dsaprojects;
+
+public enum VertexOrdering {
+    BREADTH_FIRST,
+    REVERSE_CUTHILL_MCKEE,
+    HILBERT_CURVE
+}
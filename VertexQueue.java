@@ -0,0 +1,15 @@
+package dsaprojects;
+
+public interface VertexQueue {
+    void ensureCapacity(int vertexCount);
+
+    void clear();
+
+    boolean isEmpty();
+
+    void push(int vertex, int key);
+
+    int minKey();
+
+    int poll();
+}